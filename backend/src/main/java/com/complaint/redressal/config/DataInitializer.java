@@ -2,15 +2,33 @@ package com.complaint.redressal.config;
 
 import com.complaint.redressal.model.Admin;
 import com.complaint.redressal.model.Municipality;
+import com.complaint.redressal.model.StatusHistory;
 import com.complaint.redressal.repository.AdminRepository;
 import com.complaint.redressal.repository.MunicipalityRepository;
+import com.complaint.redressal.service.ReferenceDataCache;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
+import java.io.InputStream;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.Locale;
+
 @Component
 public class DataInitializer implements CommandLineRunner {
+    private static final Logger logger = LoggerFactory.getLogger(DataInitializer.class);
 
     @Autowired
     AdminRepository adminRepository;
@@ -21,12 +39,30 @@ public class DataInitializer implements CommandLineRunner {
     @Autowired
     PasswordEncoder passwordEncoder;
 
+    @Autowired
+    ResourceLoader resourceLoader;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ReferenceDataCache referenceDataCache;
+
+    @Value("${app.geo.boundariesResource:}")
+    private String boundariesResource;
+
     @Override
     public void run(String... args) throws Exception {
+        alignStatusHistoryIds();
+
         // Seed Municipalities
         seedMunicipality("Chennai", "Chennai");
         seedMunicipality("Coimbatore", "Coimbatore");
         seedMunicipality("Salem", "Salem");
+        seedBoundaries();
 
         // Seed Super Admin
         if (adminRepository.findByUsername("suberAD").isPresent()) {
@@ -53,15 +89,85 @@ public class DataInitializer implements CommandLineRunner {
     }
 
     private void seedMunicipality(String name, String district) {
-        if (!municipalityRepository.findByName(name).isPresent()) {
+        if (!referenceDataCache.findMunicipalityByName(name).isPresent()) {
             Municipality municipality = new Municipality(name, district);
             municipalityRepository.save(municipality);
             System.out.println("Seeded Municipality: " + name);
         }
     }
 
+    // Fills in boundary and centre for municipalities that don't have one yet;
+    // boundaries edited in the database are left alone
+    private void seedBoundaries() throws Exception {
+        if (boundariesResource == null || boundariesResource.isEmpty()) {
+            return;
+        }
+        Resource resource = resourceLoader.getResource(boundariesResource);
+        if (!resource.exists()) {
+            logger.warn("Boundary resource not found: {}", boundariesResource);
+            return;
+        }
+
+        JsonNode features;
+        try (InputStream in = resource.getInputStream()) {
+            features = objectMapper.readTree(in).path("features");
+        }
+        for (JsonNode feature : features) {
+            JsonNode properties = feature.path("properties");
+            String name = properties.path("name").asText();
+            Municipality municipality = municipalityRepository.findByName(name)
+                    .orElseGet(() -> new Municipality(name, properties.path("district").asText(name)));
+            if (municipality.getBoundary() != null) {
+                continue;
+            }
+            municipality.setBoundary(objectMapper.writeValueAsString(feature.path("geometry")));
+            if (properties.hasNonNull("centerLatitude") && properties.hasNonNull("centerLongitude")) {
+                municipality.setCenterLatitude(properties.get("centerLatitude").asDouble());
+                municipality.setCenterLongitude(properties.get("centerLongitude").asDouble());
+            }
+            municipalityRepository.save(municipality);
+            logger.info("Seeded boundary for Municipality: {}", name);
+        }
+    }
+
+    // status_history used IDENTITY ids before the pooled generator; move the
+    // emulated sequence past existing rows so new ids cannot collide. If that
+    // fails, pooled-lo inserts would later hit duplicate keys, so startup fails.
+    private void alignStatusHistoryIds() {
+        if (!isTable(StatusHistory.ID_SEQUENCE)) {
+            // Native sequence on this database (H2), created fresh by Hibernate with the table
+            return;
+        }
+        try {
+            int updated = jdbcTemplate.update("update " + StatusHistory.ID_SEQUENCE
+                    + " set next_val = (select coalesce(max(id), 0) + 1 from status_history)"
+                    + " where next_val <= (select coalesce(max(id), 0) from status_history)");
+            if (updated > 0) {
+                logger.info("Advanced {} past existing status history ids", StatusHistory.ID_SEQUENCE);
+            }
+        } catch (DataAccessException e) {
+            logger.error("Could not advance {} past existing status history ids", StatusHistory.ID_SEQUENCE, e);
+            throw new IllegalStateException("Could not align " + StatusHistory.ID_SEQUENCE + ": " + e.getMessage(), e);
+        }
+    }
+
+    private boolean isTable(String name) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (String candidate : new String[] { name, name.toUpperCase(Locale.ROOT) }) {
+                try (ResultSet tables = metaData.getTables(connection.getCatalog(), null, candidate,
+                        new String[] { "TABLE" })) {
+                    if (tables.next()) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }));
+    }
+
     private void seedMunicipalityAdmin(String username, String password, String municipalityName) {
-        Municipality municipality = municipalityRepository.findByName(municipalityName)
+        Municipality municipality = referenceDataCache.findMunicipalityByName(municipalityName)
                 .orElseThrow(() -> new RuntimeException("Municipality not found: " + municipalityName));
 
         if (!adminRepository.findByUsername(username).isPresent()) {
@@ -0,0 +1,15 @@
+package com.complaint.redressal.config;
+
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    // Controllers pick masking per caller with PiiFilter.apply; everything else serializes Users unmasked
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer piiFilterCustomizer() {
+        return builder -> builder.filters(PiiFilter.visible());
+    }
+}
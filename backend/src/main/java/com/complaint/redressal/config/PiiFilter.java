@@ -0,0 +1,62 @@
+package com.complaint.redressal.config;
+
+import com.complaint.redressal.model.User;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Jackson filter bound to User (see User.PII_FILTER). Contact details are masked
+ * while the response is written, so entities are never modified to hide them.
+ * The password hash is never serialized.
+ */
+public class PiiFilter extends SimpleBeanPropertyFilter {
+    public static final String MASK = "******";
+    private static final Set<String> CONTACT_FIELDS = new HashSet<>(Arrays.asList("mobile", "email"));
+
+    private static final FilterProvider VISIBLE = provider(false);
+    private static final FilterProvider MASKED = provider(true);
+
+    private final boolean maskContact;
+
+    private PiiFilter(boolean maskContact) {
+        this.maskContact = maskContact;
+    }
+
+    // Default for every response that doesn't choose explicitly
+    public static FilterProvider visible() {
+        return VISIBLE;
+    }
+
+    public static MappingJacksonValue apply(Object body, boolean maskContact) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(maskContact ? MASKED : VISIBLE);
+        return value;
+    }
+
+    private static FilterProvider provider(boolean maskContact) {
+        return new SimpleFilterProvider().addFilter(User.PII_FILTER, new PiiFilter(maskContact));
+    }
+
+    @Override
+    public void serializeAsField(Object pojo, JsonGenerator gen, SerializerProvider provider, PropertyWriter writer)
+            throws Exception {
+        String name = writer.getName();
+        if ("password".equals(name)) {
+            return;
+        }
+        if (maskContact && CONTACT_FIELDS.contains(name)) {
+            gen.writeStringField(name, MASK);
+            return;
+        }
+        writer.serializeAsField(pojo, gen, provider);
+    }
+}
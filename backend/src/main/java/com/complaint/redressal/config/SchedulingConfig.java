@@ -0,0 +1,21 @@
+package com.complaint.redressal.config;
+
+import org.springframework.boot.task.TaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Pool for @Scheduled jobs (spring.task.scheduling.*). Without it they land on
+ * the STOMP broker's heartbeat scheduler: the WebSocket config registers a
+ * TaskScheduler, so Boot's default backs off. With two schedulers, @Scheduled
+ * picks the one named taskScheduler.
+ */
+@Configuration
+public class SchedulingConfig {
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(TaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+}
@@ -6,8 +6,15 @@ import com.complaint.redressal.repository.AdminRepository;
 import com.complaint.redressal.repository.DepartmentRepository;
 import com.complaint.redressal.repository.UserRepository;
 import com.complaint.redressal.security.jwt.JwtUtils;
+import com.complaint.redressal.security.services.AccountDirectory;
+import com.complaint.redressal.security.services.LoginExecutor;
+import com.complaint.redressal.security.services.TakenNameFilter;
+import com.complaint.redressal.security.services.TokenVersionCache;
 import com.complaint.redressal.security.services.UserDetailsImpl;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -18,6 +25,8 @@ import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
@@ -28,7 +37,7 @@ public class AuthController {
         AuthenticationManager authenticationManager;
 
         @Autowired
-        com.complaint.redressal.repository.MunicipalityRepository municipalityRepository;
+        com.complaint.redressal.service.ReferenceDataCache referenceDataCache;
 
         @Autowired
         UserRepository userRepository;
@@ -45,13 +54,34 @@ public class AuthController {
         @Autowired
         JwtUtils jwtUtils;
 
+        @Autowired
+        TokenVersionCache tokenVersionCache;
+
+        @Autowired
+        AccountDirectory accountDirectory;
+
+        @Autowired
+        LoginExecutor loginExecutor;
+
+        @Autowired
+        TakenNameFilter takenNameFilter;
+
+        // BCrypt runs on the login pool; the request thread is released until it finishes
         @PostMapping("/login")
-        public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+        public CompletableFuture<ResponseEntity<?>> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+                try {
+                        return loginExecutor.submit(() -> userLogin(loginRequest));
+                } catch (RejectedExecutionException e) {
+                        return CompletableFuture.completedFuture(loginBusy());
+                }
+        }
+
+        private ResponseEntity<?> userLogin(LoginRequest loginRequest) {
+                // Runs on a pooled thread, so the authentication is not put into a SecurityContext
                 Authentication authentication = authenticationManager.authenticate(
                                 new UsernamePasswordAuthenticationToken(loginRequest.getUsername(),
                                                 loginRequest.getPassword()));
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
                 String jwt = jwtUtils.generateJwtToken(authentication);
 
                 UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
@@ -72,7 +102,15 @@ public class AuthController {
         }
 
         @PostMapping("/admin/login")
-        public ResponseEntity<?> authenticateAdmin(@Valid @RequestBody LoginRequest loginRequest) {
+        public CompletableFuture<ResponseEntity<?>> authenticateAdmin(@Valid @RequestBody LoginRequest loginRequest) {
+                try {
+                        return loginExecutor.submit(() -> adminLogin(loginRequest));
+                } catch (RejectedExecutionException e) {
+                        return CompletableFuture.completedFuture(loginBusy());
+                }
+        }
+
+        private ResponseEntity<?> adminLogin(LoginRequest loginRequest) {
                 // Since we use a unified UserDetailsService, we can use the same authentication
                 // manager.
                 // However, we must verify that the authenticated user is indeed an ADMIN.
@@ -80,7 +118,6 @@ public class AuthController {
                                 new UsernamePasswordAuthenticationToken(loginRequest.getUsername(),
                                                 loginRequest.getPassword()));
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
                 UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
 
                 List<String> roles = userDetails.getAuthorities().stream()
@@ -104,13 +141,16 @@ public class AuthController {
 
         @PostMapping("/register")
         public ResponseEntity<?> registerUser(@Valid @RequestBody SignupRequest signUpRequest) {
-                if (userRepository.existsByUsername(signUpRequest.getUsername())) {
+                // Names the filter has never seen skip the checks; the unique constraints catch the rest
+                if (takenNameFilter.mightBeTakenUsername(signUpRequest.getUsername())
+                                && userRepository.existsByUsername(signUpRequest.getUsername())) {
                         return ResponseEntity
                                         .badRequest()
                                         .body(new MessageResponse("Error: Username is already taken!"));
                 }
 
-                if (userRepository.existsByEmail(signUpRequest.getEmail())) {
+                if (takenNameFilter.mightBeTakenEmail(signUpRequest.getEmail())
+                                && userRepository.existsByEmail(signUpRequest.getEmail())) {
                         return ResponseEntity
                                         .badRequest()
                                         .body(new MessageResponse("Error: Email is already in use!"));
@@ -124,7 +164,17 @@ public class AuthController {
                 user.setFullName(signUpRequest.getFullName());
                 user.setMobile(signUpRequest.getMobile());
 
-                userRepository.save(user);
+                try {
+                        userRepository.save(user);
+                } catch (DataIntegrityViolationException e) {
+                        // Taken concurrently, on another instance, or differing only in case
+                        boolean usernameTaken = userRepository.existsByUsername(signUpRequest.getUsername());
+                        return ResponseEntity
+                                        .badRequest()
+                                        .body(new MessageResponse(usernameTaken ? "Error: Username is already taken!"
+                                                        : "Error: Email is already in use!"));
+                }
+                takenNameFilter.addUser(user.getUsername(), user.getEmail());
 
                 return ResponseEntity.ok(new MessageResponse("User registered successfully!"));
         }
@@ -138,12 +188,16 @@ public class AuthController {
                                 .map(item -> item.getAuthority())
                                 .collect(Collectors.toList());
 
+                // Loads the managed entity for the write, then drops the cached snapshot
                 if (roles.contains("ROLE_ADMIN")) {
                         return adminRepository.findById(userDetails.getId())
                                         .map(admin -> {
                                                 admin.setPassword(encoder.encode(changePasswordRequest.getPassword()));
                                                 admin.setPasswordChanged(true);
+                                                admin.setTokenVersion(admin.getTokenVersion() + 1);
                                                 adminRepository.save(admin);
+                                                tokenVersionCache.evict(true, admin.getId());
+                                                accountDirectory.evictAdmin(admin.getId());
                                                 return ResponseEntity.ok(
                                                                 new MessageResponse("Password changed successfully!"));
                                         })
@@ -153,7 +207,10 @@ public class AuthController {
                         return userRepository.findById(userDetails.getId())
                                         .map(user -> {
                                                 user.setPassword(encoder.encode(changePasswordRequest.getPassword()));
+                                                user.setTokenVersion(user.getTokenVersion() + 1);
                                                 userRepository.save(user);
+                                                tokenVersionCache.evict(false, user.getId());
+                                                accountDirectory.evictUser(user.getId());
                                                 return ResponseEntity.ok(
                                                                 new MessageResponse("Password changed successfully!"));
                                         })
@@ -171,7 +228,10 @@ public class AuthController {
                         com.complaint.redressal.model.Admin admin = adminRepository.findByUsername("suberAD").get();
                         admin.setPassword(encoder.encode("suber24"));
                         admin.setRole(com.complaint.redressal.model.Admin.ROLE_SUPER_ADMIN);
+                        admin.setTokenVersion(admin.getTokenVersion() + 1);
                         adminRepository.save(admin);
+                        tokenVersionCache.evict(true, admin.getId());
+                        accountDirectory.evictAdmin(admin.getId());
                         status.append("Admin 'suberAD' reset to ROLE_SUPER_ADMIN. ");
                 } else {
                         com.complaint.redressal.model.Admin admin = new com.complaint.redressal.model.Admin();
@@ -189,14 +249,17 @@ public class AuthController {
                         String username = parts[0];
                         String munName = parts[1];
 
-                        municipalityRepository.findByName(munName).ifPresent(mun -> {
+                        referenceDataCache.findMunicipalityByName(munName).ifPresent(mun -> {
                                 if (adminRepository.findByUsername(username).isPresent()) {
                                         com.complaint.redressal.model.Admin admin = adminRepository
                                                         .findByUsername(username).get();
                                         admin.setPassword(encoder.encode("admin123"));
                                         admin.setRole(com.complaint.redressal.model.Admin.ROLE_MUNICIPALITY_ADMIN);
                                         admin.setMunicipality(mun);
+                                        admin.setTokenVersion(admin.getTokenVersion() + 1);
                                         adminRepository.save(admin);
+                                        tokenVersionCache.evict(true, admin.getId());
+                                        accountDirectory.evictAdmin(admin.getId());
                                         status.append("Reset ").append(username).append(". ");
                                 } else {
                                         com.complaint.redressal.model.Admin admin = new com.complaint.redressal.model.Admin();
@@ -218,4 +281,11 @@ public class AuthController {
                 return ResponseEntity.ok(
                                 userRepository.findAll().stream().map(User::getUsername).collect(Collectors.toList()));
         }
+
+        // Login pool queue is full: fail fast instead of queueing behind seconds of hashing
+        private static ResponseEntity<?> loginBusy() {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                .header(HttpHeaders.RETRY_AFTER, "1")
+                                .body(new MessageResponse("Error: Too many sign-in attempts, please retry shortly"));
+        }
 }
@@ -1,20 +1,42 @@
 package com.complaint.redressal.controller;
 
+import com.complaint.redressal.config.PiiFilter;
 import com.complaint.redressal.model.*;
-import com.complaint.redressal.repository.AdminRepository;
-import com.complaint.redressal.repository.UserRepository;
+import com.complaint.redressal.security.CurrentAdmin;
+import com.complaint.redressal.security.CurrentUser;
+import com.complaint.redressal.security.services.AccountDirectory;
 import com.complaint.redressal.security.services.UserDetailsImpl;
+import com.complaint.redressal.payload.BulkStatusUpdateRequest;
+import com.complaint.redressal.payload.ComplaintPageQuery;
+import com.complaint.redressal.payload.ComplaintSummary;
+import com.complaint.redressal.payload.CursorPage;
 import com.complaint.redressal.payload.MessageResponse;
+import com.complaint.redressal.service.ComplaintCounterService;
+import com.complaint.redressal.service.ComplaintExportService;
+import com.complaint.redressal.service.ComplaintSearchService;
 import com.complaint.redressal.service.ComplaintService;
+import com.complaint.redressal.service.HeatmapService;
+import com.complaint.redressal.service.NearbyComplaintService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import javax.validation.Valid;
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.zip.GZIPOutputStream;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
@@ -25,14 +47,30 @@ public class ComplaintController {
         private ComplaintService complaintService;
 
         @Autowired
-        private UserRepository userRepository;
+        private NearbyComplaintService nearbyComplaintService;
 
         @Autowired
-        private AdminRepository adminRepository;
+        private HeatmapService heatmapService;
+
+        @Autowired
+        private ComplaintCounterService complaintCounterService;
+
+        @Autowired
+        private ComplaintExportService complaintExportService;
+
+        @Autowired
+        private ComplaintSearchService complaintSearchService;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        @Autowired
+        private AccountDirectory accountDirectory;
 
         @PostMapping("/complaints")
         @PreAuthorize("hasRole('USER')")
         public ResponseEntity<?> createComplaint(
+                        @CurrentUser User user,
                         @RequestParam("title") String title,
                         @RequestParam("description") String description,
                         @RequestParam("category") ComplaintCategory category,
@@ -41,11 +79,6 @@ public class ComplaintController {
                         @RequestParam(value = "address", required = false) String address,
                         @RequestParam(value = "image", required = false) MultipartFile image) {
 
-                Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-                UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-                User user = userRepository.findById(userDetails.getId())
-                                .orElseThrow(() -> new RuntimeException("User not found"));
-
                 Complaint complaint = complaintService.createComplaint(title, description, category, latitude,
                                 longitude,
                                 address, image, user);
@@ -54,22 +87,42 @@ public class ComplaintController {
 
         @GetMapping("/complaints/my")
         @PreAuthorize("hasRole('USER')")
-        public List<Complaint> getMyComplaints() {
-                Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-                UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-                User user = userRepository.findById(userDetails.getId())
-                                .orElseThrow(() -> new RuntimeException("User not found"));
+        public ResponseEntity<?> getMyComplaints(
+                        @CurrentUser User user,
+                        @RequestParam(value = "cursor", required = false) String cursor,
+                        @RequestParam(value = "limit", required = false) Integer limit,
+                        @RequestParam(value = "status", required = false) ComplaintStatus status,
+                        @RequestParam(value = "category", required = false) ComplaintCategory category,
+                        @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                        @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+                // Always paged, like the admin listing
+                try {
+                        return ResponseEntity.ok(complaintService.getComplaintsByUser(user,
+                                        pageQuery(limit, status, category, from, to), cursor));
+                } catch (IllegalArgumentException e) {
+                        return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
+                }
+        }
 
-                return complaintService.getComplaintsByUser(user);
+        @GetMapping("/complaints/nearby")
+        @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+        public ResponseEntity<?> getNearbyComplaints(
+                        @RequestParam("lat") Double lat,
+                        @RequestParam("lon") Double lon,
+                        @RequestParam(value = "radiusKm", defaultValue = "1") Double radiusKm,
+                        @RequestParam(value = "category", required = false) ComplaintCategory category,
+                        @RequestParam(value = "limit", defaultValue = "50") Integer limit) {
+                try {
+                        return ResponseEntity.ok(
+                                        nearbyComplaintService.findNearby(lat, lon, radiusKm, category, limit));
+                } catch (IllegalArgumentException e) {
+                        return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
+                }
         }
 
         @DeleteMapping("/complaints/{id}")
         @PreAuthorize("hasRole('USER')")
-        public ResponseEntity<?> deleteComplaint(@PathVariable Long id) {
-                Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-                UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal(); // Get ID from token
-                User user = userRepository.findById(userDetails.getId())
-                                .orElseThrow(() -> new RuntimeException("User not found"));
+        public ResponseEntity<?> deleteComplaint(@CurrentUser User user, @PathVariable Long id) {
                 try {
                         complaintService.deleteComplaint(id, user);
                         return ResponseEntity.ok(new MessageResponse("Complaint deleted successfully"));
@@ -81,43 +134,18 @@ public class ComplaintController {
         @GetMapping("/complaints/{id}")
         @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
         public ResponseEntity<?> getComplaintById(@PathVariable Long id) {
+                Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+                UserDetailsImpl userDetails = (UserDetailsImpl) auth.getPrincipal();
+                boolean maskContact = masksContact(userDetails);
                 return complaintService.getComplaintById(id)
-                                .map(complaint -> {
-                                        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-                                        UserDetailsImpl userDetails = (UserDetailsImpl) auth.getPrincipal();
-
-                                        if (userDetails.getAuthorities().stream()
-                                                        .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"))) {
-                                                // Check if District Admin
-                                                Admin admin = adminRepository.findById(userDetails.getId())
-                                                                .orElse(null);
-                                                if (admin != null) {
-                                                        boolean isSuperAdmin = (admin.getDepartment() == null
-                                                                        && admin.getMunicipality() == null);
-                                                        if (!isSuperAdmin && complaint.getUser() != null) {
-                                                                // Mask
-                                                                User u = complaint.getUser();
-                                                                u.setMobile("******");
-                                                                u.setEmail("******");
-                                                        }
-                                                }
-                                        }
-                                        return ResponseEntity.ok(complaint);
-                                })
+                                .map(complaint -> ResponseEntity.ok(PiiFilter.apply(complaint, maskContact)))
                                 .orElse(ResponseEntity.notFound().build());
         }
 
         @GetMapping("/admin/complaints/{id}/complainant-details")
         @PreAuthorize("hasRole('ADMIN')")
-        public ResponseEntity<?> getComplainantDetails(@PathVariable Long id) {
-                Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-                UserDetailsImpl userDetails = (UserDetailsImpl) auth.getPrincipal();
-
-                Admin admin = adminRepository.findById(userDetails.getId())
-                                .orElseThrow(() -> new RuntimeException("Admin not found"));
-
-                boolean isSuperAdmin = (admin.getDepartment() == null && admin.getMunicipality() == null);
-                if (!isSuperAdmin) {
+        public ResponseEntity<?> getComplainantDetails(@CurrentAdmin Admin admin, @PathVariable Long id) {
+                if (!isSuperAdmin(admin)) {
                         return ResponseEntity.status(403)
                                         .body(new MessageResponse("Access Denied: Restricted to Super Admin"));
                 }
@@ -131,39 +159,165 @@ public class ComplaintController {
 
         @GetMapping("/admin/complaints")
         @PreAuthorize("hasRole('ADMIN')")
-        public List<Complaint> getAllComplaints() {
-                Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-                UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-                Admin admin = adminRepository.findById(userDetails.getId())
-                                .orElseThrow(() -> new RuntimeException("Admin not found"));
-
-                List<Complaint> complaints = complaintService.getComplaintsForAdmin(admin);
-
-                boolean isSuperAdmin = (admin.getDepartment() == null && admin.getMunicipality() == null);
-                if (!isSuperAdmin) {
-                        complaints.forEach(c -> {
-                                if (c.getUser() != null) {
-                                        c.getUser().setMobile("******");
-                                        c.getUser().setEmail("******");
-                                }
-                        });
+        public ResponseEntity<?> getAllComplaints(
+                        @CurrentAdmin Admin admin,
+                        @RequestParam(value = "cursor", required = false) String cursor,
+                        @RequestParam(value = "limit", required = false) Integer limit,
+                        @RequestParam(value = "status", required = false) ComplaintStatus status,
+                        @RequestParam(value = "category", required = false) ComplaintCategory category,
+                        @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                        @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+                // Always paged: the admin scope can be the whole table
+                CursorPage<Complaint> page;
+                try {
+                        page = complaintService.getComplaintsForAdmin(admin,
+                                        pageQuery(limit, status, category, from, to), cursor);
+                } catch (IllegalArgumentException e) {
+                        return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
+                }
+                return ResponseEntity.ok(PiiFilter.apply(page, !isSuperAdmin(admin)));
+        }
+
+        // Full export in constant memory; gzip when the client accepts it
+        @GetMapping("/admin/complaints/export")
+        @PreAuthorize("hasRole('ADMIN')")
+        public ResponseEntity<StreamingResponseBody> exportComplaints(
+                        @CurrentAdmin Admin admin,
+                        @RequestParam(value = "format", defaultValue = "ndjson") String format,
+                        @RequestParam(value = "municipalityId", required = false) Long municipalityId,
+                        @RequestParam(value = "status", required = false) ComplaintStatus status,
+                        @RequestParam(value = "category", required = false) ComplaintCategory category,
+                        @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                        @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+                ComplaintExportService.Format exportFormat;
+                try {
+                        exportFormat = ComplaintExportService.Format.valueOf(format.toUpperCase());
+                } catch (IllegalArgumentException e) {
+                        // Streaming return type, so the error body is written by hand
+                        MessageResponse error = new MessageResponse("Error: Unknown format " + format);
+                        return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON)
+                                        .body(out -> objectMapper.writeValue(out, error));
+                }
+
+                ComplaintPageQuery query = pageQuery(null, status, category, from, to);
+                // Municipality admins always export their own municipality
+                query.setMunicipalityId(admin.getMunicipality() != null ? admin.getMunicipality().getId()
+                                : municipalityId);
+
+                boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+                String extension = exportFormat == ComplaintExportService.Format.CSV ? "csv" : "ndjson";
+                StreamingResponseBody body = out -> {
+                        OutputStream target = gzip ? new GZIPOutputStream(out, 64 * 1024)
+                                        : new BufferedOutputStream(out, 64 * 1024);
+                        complaintExportService.export(query, exportFormat, target);
+                        if (target instanceof GZIPOutputStream) {
+                                ((GZIPOutputStream) target).finish();
+                        }
+                        target.flush();
+                };
+
+                ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                                .contentType(exportFormat == ComplaintExportService.Format.CSV
+                                                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                                                : new MediaType("application", "x-ndjson"))
+                                .header(HttpHeaders.CONTENT_DISPOSITION,
+                                                "attachment; filename=\"complaints-" + LocalDate.now() + "." + extension + "\"")
+                                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                if (gzip) {
+                        response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+                }
+                return response.body(body);
+        }
+
+        // Ranked full-text search over title, description and address
+        @GetMapping("/admin/complaints/search")
+        @PreAuthorize("hasRole('ADMIN')")
+        public ResponseEntity<?> searchComplaints(
+                        @CurrentAdmin Admin admin,
+                        @RequestParam("q") String q,
+                        @RequestParam(value = "category", required = false) ComplaintCategory category,
+                        @RequestParam(value = "status", required = false) ComplaintStatus status,
+                        @RequestParam(value = "page", defaultValue = "0") int page,
+                        @RequestParam(value = "size", defaultValue = "20") int size) {
+                try {
+                        return ResponseEntity.ok(PiiFilter.apply(
+                                        complaintSearchService.search(admin, q, category, status, page, size),
+                                        !isSuperAdmin(admin)));
+                } catch (IllegalArgumentException e) {
+                        return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
+                }
+        }
+
+        @GetMapping("/admin/complaints/summary")
+        @PreAuthorize("hasRole('ADMIN')")
+        public ComplaintSummary getComplaintSummary(@CurrentAdmin Admin admin) {
+                // Same scoping as getComplaintsForAdmin
+                return complaintCounterService.getSummary(
+                                admin.getMunicipality() != null ? admin.getMunicipality().getId() : null);
+        }
+
+        @GetMapping("/admin/heatmap/{z}/{x}/{y}")
+        @PreAuthorize("hasRole('ADMIN')")
+        public ResponseEntity<?> getHeatmapTile(@CurrentAdmin Admin admin, @PathVariable int z, @PathVariable long x,
+                        @PathVariable long y) {
+                try {
+                        return ResponseEntity.ok(heatmapService.getTile(admin, z, x, y));
+                } catch (IllegalArgumentException e) {
+                        return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
                 }
-                return complaints;
         }
 
         @PutMapping("/admin/complaints/{id}/status")
         @PreAuthorize("hasRole('ADMIN')")
         public ResponseEntity<?> updateStatus(
+                        @CurrentAdmin Admin admin,
                         @PathVariable Long id,
                         @RequestParam("status") ComplaintStatus status,
                         @RequestParam("remarks") String remarks) {
 
-                Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-                UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-                Admin admin = adminRepository.findById(userDetails.getId())
-                                .orElseThrow(() -> new RuntimeException("Admin not found"));
-
                 Complaint complaint = complaintService.updateStatus(id, status, remarks, admin);
                 return ResponseEntity.ok(complaint);
         }
+
+        @PutMapping("/admin/complaints/status")
+        @PreAuthorize("hasRole('ADMIN')")
+        public ResponseEntity<?> bulkUpdateStatus(@CurrentAdmin Admin admin,
+                        @Valid @RequestBody BulkStatusUpdateRequest request) {
+                try {
+                        return ResponseEntity.ok(complaintService.bulkUpdateStatus(request.getIds(),
+                                        request.getStatus(), request.getRemarks(), admin));
+                } catch (IllegalArgumentException e) {
+                        return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
+                }
+        }
+
+        // District admins see complainants' contact details masked; applied at serialization time
+        private boolean masksContact(UserDetailsImpl userDetails) {
+                if (userDetails.getAuthorities().stream().noneMatch(a -> a.getAuthority().equals("ROLE_ADMIN"))) {
+                        return false;
+                }
+                return accountDirectory.findAdmin(userDetails)
+                                .map(admin -> !isSuperAdmin(admin))
+                                .orElse(false);
+        }
+
+        private static boolean isSuperAdmin(Admin admin) {
+                return admin.getDepartment() == null && admin.getMunicipality() == null;
+        }
+
+        private static ComplaintPageQuery pageQuery(Integer limit, ComplaintStatus status, ComplaintCategory category,
+                        LocalDate from, LocalDate to) {
+                ComplaintPageQuery query = new ComplaintPageQuery();
+                query.setLimit(limit != null ? limit : ComplaintService.DEFAULT_PAGE_SIZE);
+                query.setStatus(status);
+                query.setCategory(category);
+                if (from != null) {
+                        query.setCreatedFrom(Timestamp.valueOf(from.atStartOfDay()));
+                }
+                if (to != null) {
+                        query.setCreatedTo(Timestamp.valueOf(to.plusDays(1).atStartOfDay())); // Inclusive end date
+                }
+                return query;
+        }
 }
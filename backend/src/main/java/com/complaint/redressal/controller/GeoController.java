@@ -0,0 +1,27 @@
+package com.complaint.redressal.controller;
+
+import com.complaint.redressal.payload.MessageResponse;
+import com.complaint.redressal.service.ReverseGeocodingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/geo")
+public class GeoController {
+
+    @Autowired
+    private ReverseGeocodingService reverseGeocodingService;
+
+    @GetMapping("/reverse")
+    public ResponseEntity<?> reverse(@RequestParam("lat") Double lat, @RequestParam("lon") Double lon) {
+        try {
+            return reverseGeocodingService.reverse(lat, lon)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+}
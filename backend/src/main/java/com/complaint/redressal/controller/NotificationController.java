@@ -3,12 +3,10 @@ package com.complaint.redressal.controller;
 import com.complaint.redressal.model.Admin;
 import com.complaint.redressal.model.Notification;
 import com.complaint.redressal.payload.MessageResponse;
-import com.complaint.redressal.repository.AdminRepository;
 import com.complaint.redressal.repository.NotificationRepository;
+import com.complaint.redressal.security.CurrentAdmin;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -21,25 +19,14 @@ public class NotificationController {
     @Autowired
     NotificationRepository notificationRepository;
 
-    @Autowired
-    AdminRepository adminRepository;
-
     @GetMapping
-    public ResponseEntity<?> getNotifications() {
-        UserDetails userDetails = (UserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        Admin admin = adminRepository.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("Error: Admin not found."));
-
+    public ResponseEntity<?> getNotifications(@CurrentAdmin Admin admin) {
         List<Notification> notifications = notificationRepository.findByReceiverOrderByCreatedAtDesc(admin);
         return ResponseEntity.ok(notifications);
     }
 
     @GetMapping("/unread-count")
-    public ResponseEntity<?> getUnreadCount() {
-        UserDetails userDetails = (UserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        Admin admin = adminRepository.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("Error: Admin not found."));
-
+    public ResponseEntity<?> getUnreadCount(@CurrentAdmin Admin admin) {
         long count = notificationRepository.countByReceiverAndIsReadFalse(admin);
         return ResponseEntity.ok(count);
     }
@@ -1,21 +1,36 @@
 package com.complaint.redressal.controller;
 
+import com.complaint.redressal.geo.GeoPolygon;
 import com.complaint.redressal.model.Admin;
 import com.complaint.redressal.payload.AdminWorkStatus;
 import com.complaint.redressal.model.Department;
 import com.complaint.redressal.model.Municipality;
 import com.complaint.redressal.payload.AdminSignupRequest;
 import com.complaint.redressal.payload.MessageResponse;
+import com.complaint.redressal.payload.MunicipalityBoundaryRequest;
+import com.complaint.redressal.ratelimit.ConcurrencyLimitFilter;
+import com.complaint.redressal.ratelimit.RateLimitFilter;
 import com.complaint.redressal.repository.AdminRepository;
-import com.complaint.redressal.repository.DepartmentRepository;
 import com.complaint.redressal.repository.MunicipalityRepository;
+import com.complaint.redressal.security.jwt.JwtUtils;
+import com.complaint.redressal.security.services.AccountDirectory;
+import com.complaint.redressal.security.services.TokenVersionCache;
+import com.complaint.redressal.service.AdminWorkStatusService;
+import com.complaint.redressal.service.ComplaintImportService;
+import com.complaint.redressal.service.ReferenceDataCache;
+import com.complaint.redressal.service.ReverseGeocodingService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
+import java.io.IOException;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -29,9 +44,6 @@ public class SuperAdminController {
     @Autowired
     AdminRepository adminRepository;
 
-    @Autowired
-    DepartmentRepository departmentRepository;
-
     @Autowired
     MunicipalityRepository municipalityRepository;
 
@@ -57,16 +69,16 @@ public class SuperAdminController {
         }
 
         if (signUpRequest.getDepartmentId() != null) {
-            Optional<Department> department = departmentRepository.findById(signUpRequest.getDepartmentId());
+            Optional<Department> department = referenceDataCache.findDepartmentById(signUpRequest.getDepartmentId());
             department.ifPresent(admin::setDepartment);
         }
 
         if (signUpRequest.getMunicipalityId() != null) {
-            Optional<Municipality> municipality = municipalityRepository.findById(signUpRequest.getMunicipalityId());
+            Optional<Municipality> municipality = referenceDataCache.findMunicipalityById(signUpRequest.getMunicipalityId());
             municipality.ifPresent(admin::setMunicipality);
         } else if (signUpRequest.getMunicipalityName() != null && !signUpRequest.getMunicipalityName().isEmpty()) {
-            Optional<Municipality> existingMunicipality = municipalityRepository
-                    .findByName(signUpRequest.getMunicipalityName());
+            Optional<Municipality> existingMunicipality = referenceDataCache
+                    .findMunicipalityByName(signUpRequest.getMunicipalityName());
             if (existingMunicipality.isPresent()) {
                 admin.setMunicipality(existingMunicipality.get());
             } else {
@@ -78,6 +90,8 @@ public class SuperAdminController {
         }
 
         adminRepository.save(admin);
+        accountDirectory.evictAdmin(admin.getId());
+        adminWorkStatusService.invalidate();
 
         return ResponseEntity.ok(new MessageResponse("Admin registered successfully!"));
     }
@@ -97,19 +111,24 @@ public class SuperAdminController {
                     }
 
                     if (updateRequest.getDepartmentId() != null) {
-                        departmentRepository.findById(updateRequest.getDepartmentId()).ifPresent(admin::setDepartment);
+                        referenceDataCache.findDepartmentById(updateRequest.getDepartmentId()).ifPresent(admin::setDepartment);
                     } else {
                         admin.setDepartment(null);
                     }
 
                     if (updateRequest.getMunicipalityId() != null) {
-                        municipalityRepository.findById(updateRequest.getMunicipalityId())
+                        referenceDataCache.findMunicipalityById(updateRequest.getMunicipalityId())
                                 .ifPresent(admin::setMunicipality);
                     } else {
                         admin.setMunicipality(null);
                     }
 
+                    // Role, scope or password may have changed: outstanding tokens carry stale claims
+                    admin.setTokenVersion(admin.getTokenVersion() + 1);
                     adminRepository.save(admin);
+                    tokenVersionCache.evict(true, admin.getId());
+                    accountDirectory.evictAdmin(admin.getId());
+                    adminWorkStatusService.invalidate();
                     return ResponseEntity.ok(new MessageResponse("Admin updated successfully!"));
                 })
                 .orElse(ResponseEntity.notFound().build());
@@ -120,51 +139,44 @@ public class SuperAdminController {
         return adminRepository.findById(id)
                 .map(admin -> {
                     adminRepository.delete(admin);
+                    tokenVersionCache.evict(true, admin.getId());
+                    accountDirectory.evictAdmin(admin.getId());
+                    adminWorkStatusService.invalidate();
                     return ResponseEntity.ok(new MessageResponse("Admin deleted successfully!"));
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @Autowired
-    com.complaint.redressal.repository.ComplaintRepository complaintRepository;
+    AdminWorkStatusService adminWorkStatusService;
+
+    @Autowired
+    ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    ReverseGeocodingService reverseGeocodingService;
+
+    @Autowired
+    ComplaintImportService complaintImportService;
+
+    @Autowired
+    TokenVersionCache tokenVersionCache;
+
+    @Autowired
+    AccountDirectory accountDirectory;
+
+    @Autowired
+    JwtUtils jwtUtils;
+
+    @Autowired
+    RateLimitFilter rateLimitFilter;
+
+    @Autowired
+    ConcurrencyLimitFilter concurrencyLimitFilter;
 
     @GetMapping("/admins/status")
     public List<AdminWorkStatus> getAdminWorkStatus() {
-        return adminRepository.findAll().stream().map(admin -> {
-            long total = 0;
-            long pending = 0;
-            long resolved = 0;
-
-            if (admin.getDepartment() != null) {
-                total = complaintRepository.countByAssignedDepartment(admin.getDepartment());
-                pending = complaintRepository.countByAssignedDepartmentAndStatus(admin.getDepartment(),
-                        com.complaint.redressal.model.ComplaintStatus.PENDING);
-                resolved = complaintRepository.countByAssignedDepartmentAndStatus(admin.getDepartment(),
-                        com.complaint.redressal.model.ComplaintStatus.COMPLETED);
-            } else if (admin.getMunicipality() != null) {
-                total = complaintRepository.countByMunicipality(admin.getMunicipality());
-                pending = complaintRepository.countByMunicipalityAndStatus(admin.getMunicipality(),
-                        com.complaint.redressal.model.ComplaintStatus.PENDING);
-                resolved = complaintRepository.countByMunicipalityAndStatus(admin.getMunicipality(),
-                        com.complaint.redressal.model.ComplaintStatus.COMPLETED);
-            }
-
-            // If Super Admin (no dept/muni), stats are global or specific logic. For now, 0
-            // or skip.
-            // Assuming this view is for District Admins mainly.
-
-            String deptName = (admin.getDepartment() != null) ? admin.getDepartment().getName() : null;
-            String muniName = (admin.getMunicipality() != null) ? admin.getMunicipality().getName() : null;
-
-            return new AdminWorkStatus(
-                    admin.getId(),
-                    admin.getUsername(),
-                    deptName,
-                    muniName,
-                    total,
-                    pending,
-                    resolved);
-        }).collect(java.util.stream.Collectors.toList());
+        return adminWorkStatusService.getAdminWorkStatus();
     }
 
     @Autowired
@@ -205,12 +217,79 @@ public class SuperAdminController {
     @GetMapping("/municipalities")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> getAllMunicipalities() {
-        return ResponseEntity.ok(municipalityRepository.findAll());
+        return ResponseEntity.ok(referenceDataCache.getMunicipalities());
+    }
+
+    @PutMapping("/municipalities/{id}/boundary")
+    public ResponseEntity<?> updateMunicipalityBoundary(@PathVariable Long id,
+            @RequestBody MunicipalityBoundaryRequest request) {
+        if (request.getBoundary() != null) {
+            try {
+                GeoPolygon.fromGeoJson(request.getBoundary());
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(new MessageResponse("Error: Invalid boundary: " + e.getMessage()));
+            }
+        }
+
+        return municipalityRepository.findById(id)
+                .map(municipality -> {
+                    municipality.setBoundary(request.getBoundary() != null ? request.getBoundary().toString() : null);
+                    municipality.setCenterLatitude(request.getCenterLatitude());
+                    municipality.setCenterLongitude(request.getCenterLongitude());
+                    municipalityRepository.save(municipality);
+                    return ResponseEntity.ok(new MessageResponse("Municipality boundary updated successfully!"));
+                })
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/departments")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> getAllDepartments() {
-        return ResponseEntity.ok(departmentRepository.findAll());
+        return ResponseEntity.ok(referenceDataCache.getDepartments());
+    }
+
+    @GetMapping("/cache-stats")
+    public Map<String, Map<String, Long>> getCacheStats() {
+        Map<String, Map<String, Long>> stats = new LinkedHashMap<>();
+        Map<String, Long> referenceData = cacheStats(referenceDataCache.getHits(), referenceDataCache.getMisses());
+        referenceData.put("reloads", referenceDataCache.getReloads());
+        stats.put("referenceData", referenceData);
+        stats.put("reverseGeocoding",
+                cacheStats(reverseGeocodingService.getCacheHits(), reverseGeocodingService.getCacheMisses()));
+        stats.put("accounts", cacheStats(accountDirectory.getHits(), accountDirectory.getMisses()));
+        stats.put("verifiedTokens", cacheStats(jwtUtils.getVerifiedCacheHits(), jwtUtils.getVerifiedCacheMisses()));
+        return stats;
+    }
+
+    @GetMapping("/rate-limits")
+    public Map<String, Map<String, Long>> getRateLimitStats() {
+        return rateLimitFilter.getStats();
+    }
+
+    @GetMapping("/concurrency-limits")
+    public Map<String, Map<String, Number>> getConcurrencyLimitStats() {
+        return concurrencyLimitFilter.getStats();
+    }
+
+    // Streams the raw request body (no multipart size limit); rerun with the same jobId to resume
+    @PostMapping(value = "/complaints/import", consumes = { "text/csv", MediaType.APPLICATION_JSON_VALUE,
+            "application/x-ndjson" })
+    public ResponseEntity<?> importComplaints(@RequestParam("jobId") String jobId,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, HttpServletRequest request)
+            throws IOException {
+        if (jobId.trim().isEmpty() || jobId.length() > 100) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: jobId must be 1-100 characters"));
+        }
+        ComplaintImportService.Format format = contentType.startsWith("text/csv")
+                ? ComplaintImportService.Format.CSV
+                : ComplaintImportService.Format.JSON;
+        return ResponseEntity.ok(complaintImportService.importComplaints(jobId, format, request.getInputStream()));
+    }
+
+    private static Map<String, Long> cacheStats(long hits, long misses) {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        return stats;
     }
 }
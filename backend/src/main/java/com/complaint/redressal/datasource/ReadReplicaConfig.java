@@ -0,0 +1,76 @@
+package com.complaint.redressal.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the auto-configured DataSource with primary/replica routing when
+ * app.datasource.routing.enabled=true. The primary still comes from
+ * spring.datasource.*; replicas are listed under app.datasource.routing.replicas.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(ReplicaRoutingProperties properties) {
+        return new ReadYourWritesTracker(properties.getStickyMs());
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(HikariDataSource primaryDataSource,
+            ReplicaRoutingProperties properties, ReadYourWritesTracker readYourWritesTracker) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<ReplicaRoutingProperties.Replica> configured = properties.getReplicas();
+        for (int i = 0; i < configured.size(); i++) {
+            ReplicaRoutingProperties.Replica replica = configured.get(i);
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(replica.getUrl())
+                    .username(replica.getUsername())
+                    .password(replica.getPassword())
+                    .driverClassName(replica.getDriverClassName())
+                    .build();
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setReadOnly(true);
+            replicas.put("replica-" + i, dataSource);
+        }
+        return new ReplicaLagMonitor(primaryDataSource, replicas, properties.getMaxLagMs(),
+                properties.getCheckTimeoutSeconds(), readYourWritesTracker);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaLagMonitor replicaLagMonitor,
+            ReadYourWritesTracker readYourWritesTracker) {
+        Map<Object, Object> targets = new HashMap<>(replicaLagMonitor.getReplicas());
+        targets.put(ReplicaRoutingDataSource.PRIMARY, primaryDataSource);
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(replicaLagMonitor, readYourWritesTracker);
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
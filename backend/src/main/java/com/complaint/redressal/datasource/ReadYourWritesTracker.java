@@ -0,0 +1,50 @@
+package com.complaint.redressal.datasource;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which principals wrote recently, so their next reads (for example the
+ * "my complaints" list right after submitting one) are served by the primary
+ * instead of a replica that may not have the row yet.
+ */
+public class ReadYourWritesTracker {
+    private final long stickyMs;
+    private final Map<String, Long> stickyUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(long stickyMs) {
+        this.stickyMs = stickyMs;
+    }
+
+    public void markWrite() {
+        String principal = currentPrincipal();
+        if (principal != null) {
+            stickyUntil.put(principal, System.currentTimeMillis() + stickyMs);
+        }
+    }
+
+    public boolean isSticky() {
+        String principal = currentPrincipal();
+        if (principal == null) {
+            return false;
+        }
+        Long until = stickyUntil.get(principal);
+        return until != null && until > System.currentTimeMillis();
+    }
+
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        stickyUntil.values().removeIf(until -> until <= now);
+    }
+
+    private static String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,109 @@
+package com.complaint.redressal.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures replica lag with a heartbeat row: the primary stamps
+ * replication_heartbeat on every tick and each replica's lag is how old its
+ * replicated copy is. Works the same for MySQL replication and for local
+ * embedded databases; a replica that cannot be read counts as unhealthy.
+ * Every statement has a query timeout, so a hung replica costs one tick at
+ * most instead of stalling the check (spring.task.scheduling.pool.size keeps
+ * long scheduled jobs from delaying it as well).
+ */
+public class ReplicaLagMonitor implements DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate primary;
+    private final Map<String, DataSource> dataSources;
+    private final Map<String, JdbcTemplate> replicas = new LinkedHashMap<>();
+    private final long maxLagMs;
+    private final ReadYourWritesTracker readYourWrites;
+
+    private volatile List<String> healthyReplicas = Collections.emptyList();
+
+    public ReplicaLagMonitor(DataSource primary, Map<String, DataSource> replicas, long maxLagMs,
+            int timeoutSeconds, ReadYourWritesTracker readYourWrites) {
+        this.primary = jdbcTemplate(primary, timeoutSeconds);
+        this.dataSources = Collections.unmodifiableMap(new LinkedHashMap<>(replicas));
+        replicas.forEach((key, dataSource) -> this.replicas.put(key, jdbcTemplate(dataSource, timeoutSeconds)));
+        this.maxLagMs = maxLagMs;
+        this.readYourWrites = readYourWrites;
+        this.primary.execute("create table if not exists replication_heartbeat "
+                + "(id int not null primary key, beat_at bigint not null)");
+    }
+
+    private static JdbcTemplate jdbcTemplate(DataSource dataSource, int timeoutSeconds) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setQueryTimeout(timeoutSeconds);
+        return template;
+    }
+
+    public Map<String, DataSource> getReplicas() {
+        return dataSources;
+    }
+
+    public List<String> getHealthyReplicas() {
+        return healthyReplicas;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (DataSource dataSource : dataSources.values()) {
+            if (dataSource instanceof AutoCloseable) {
+                ((AutoCloseable) dataSource).close();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.routing.heartbeatMs:1000}")
+    public void check() {
+        long now = System.currentTimeMillis();
+        try {
+            if (primary.update("update replication_heartbeat set beat_at = ? where id = 1", now) == 0) {
+                primary.update("insert into replication_heartbeat (id, beat_at) values (1, ?)", now);
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Could not write replication heartbeat: {}", e.getMessage());
+        }
+
+        List<String> healthy = new ArrayList<>();
+        for (Map.Entry<String, JdbcTemplate> replica : replicas.entrySet()) {
+            long lagMs = lag(replica.getValue(), now);
+            boolean wasHealthy = healthyReplicas.contains(replica.getKey());
+            if (lagMs <= maxLagMs) {
+                healthy.add(replica.getKey());
+                if (!wasHealthy) {
+                    logger.info("Replica {} is serving reads (lag {} ms)", replica.getKey(), lagMs);
+                }
+            } else if (wasHealthy) {
+                logger.warn("Replica {} lags {} ms; reads fall back to the primary", replica.getKey(),
+                        lagMs == Long.MAX_VALUE ? "unknown" : lagMs);
+            }
+        }
+        healthyReplicas = Collections.unmodifiableList(healthy);
+        readYourWrites.evictExpired();
+    }
+
+    private static long lag(JdbcTemplate replica, long now) {
+        try {
+            List<Long> beats = replica.queryForList("select beat_at from replication_heartbeat where id = 1",
+                    Long.class);
+            return beats.isEmpty() ? Long.MAX_VALUE : Math.max(0, now - beats.get(0));
+        } catch (DataAccessException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.complaint.redressal.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a healthy replica (round robin) and everything
+ * else to the primary. Must sit behind a LazyConnectionDataSourceProxy: the
+ * transaction's read-only flag is only set after the transaction manager asks
+ * for a connection, so the lookup has to wait until the first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    public static final String PRIMARY = "primary";
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesTracker readYourWrites;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(ReplicaLagMonitor lagMonitor, ReadYourWritesTracker readYourWrites) {
+        this.lagMonitor = lagMonitor;
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            readYourWrites.markWrite();
+            return PRIMARY;
+        }
+        if (readYourWrites.isSticky()) {
+            return PRIMARY;
+        }
+        List<String> healthy = lagMonitor.getHealthyReplicas();
+        if (healthy.isEmpty()) {
+            return PRIMARY;
+        }
+        String key = healthy.get(Math.floorMod(next.getAndIncrement(), healthy.size()));
+        logger.debug("Routing read-only transaction to {}", key);
+        return key;
+    }
+}
@@ -0,0 +1,34 @@
+package com.complaint.redressal.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public class ReplicaRoutingProperties {
+    private boolean enabled;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    // A replica whose heartbeat is older than this is skipped; must exceed heartbeatMs
+    private long maxLagMs = 3000;
+
+    private long heartbeatMs = 1000;
+
+    // Heartbeat writes and replica lag reads give up after this; a replica that times out counts as lagging
+    private int checkTimeoutSeconds = 2;
+
+    // How long a principal's reads stay on the primary after a read-write transaction
+    private long stickyMs = 5000;
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+    }
+}
@@ -0,0 +1,135 @@
+package com.complaint.redressal.geo;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Standard base-32 geohash encoding. Cells sharing a prefix are spatially
+ * nested, which makes the hash usable as an index key for range scans.
+ */
+public final class GeoHash {
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+    private static final int[] DECODE = new int[128];
+
+    public static final int MAX_PRECISION = 12;
+
+    static {
+        Arrays.fill(DECODE, -1);
+        for (int i = 0; i < BASE32.length; i++) {
+            DECODE[BASE32[i]] = i;
+        }
+    }
+
+    private GeoHash() {
+    }
+
+    public static String encode(double lat, double lon, int precision) {
+        if (precision < 1 || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Geohash precision must be between 1 and " + MAX_PRECISION);
+        }
+        double minLat = -90, maxLat = 90, minLon = -180, maxLon = 180;
+        char[] hash = new char[precision];
+        boolean evenBit = true;
+        int bit = 0, ch = 0, idx = 0;
+
+        while (idx < precision) {
+            if (evenBit) {
+                double mid = (minLon + maxLon) / 2;
+                if (lon >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLon = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLon = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (lat >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLat = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+            if (++bit == 5) {
+                hash[idx++] = BASE32[ch];
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return new String(hash);
+    }
+
+    /** Returns the cell bounds as {minLat, minLon, maxLat, maxLon}. */
+    public static double[] bounds(String hash) {
+        double minLat = -90, maxLat = 90, minLon = -180, maxLon = 180;
+        boolean evenBit = true;
+        for (int i = 0; i < hash.length(); i++) {
+            char c = hash.charAt(i);
+            int value = c < DECODE.length ? DECODE[c] : -1;
+            if (value < 0) {
+                throw new IllegalArgumentException("Invalid geohash: " + hash);
+            }
+            for (int b = 4; b >= 0; b--) {
+                int bitValue = (value >> b) & 1;
+                if (evenBit) {
+                    double mid = (minLon + maxLon) / 2;
+                    if (bitValue == 1) {
+                        minLon = mid;
+                    } else {
+                        maxLon = mid;
+                    }
+                } else {
+                    double mid = (minLat + maxLat) / 2;
+                    if (bitValue == 1) {
+                        minLat = mid;
+                    } else {
+                        maxLat = mid;
+                    }
+                }
+                evenBit = !evenBit;
+            }
+        }
+        return new double[] { minLat, minLon, maxLat, maxLon };
+    }
+
+    // Cell height in degrees latitude at the given precision
+    public static double cellHeightDegrees(int precision) {
+        int latBits = (precision * 5) / 2;
+        return 180.0 / (1L << latBits);
+    }
+
+    // Cell width in degrees longitude at the given precision
+    public static double cellWidthDegrees(int precision) {
+        int lonBits = (precision * 5 + 1) / 2;
+        return 360.0 / (1L << lonBits);
+    }
+
+    /** All cells of the given precision that intersect the bounding box. */
+    public static Set<String> coveringCells(double minLat, double minLon, double maxLat, double maxLon,
+            int precision) {
+        double stepLat = cellHeightDegrees(precision);
+        double stepLon = cellWidthDegrees(precision);
+        minLat = Math.max(-90, minLat);
+        maxLat = Math.min(90, maxLat);
+
+        Set<String> cells = new LinkedHashSet<>();
+        // Snap to cell origins so every intersecting cell is visited exactly once
+        double startLat = Math.floor((minLat + 90) / stepLat) * stepLat - 90;
+        double startLon = Math.floor((minLon + 180) / stepLon) * stepLon - 180;
+        for (double lat = startLat; lat <= maxLat; lat += stepLat) {
+            for (double lon = startLon; lon <= maxLon; lon += stepLon) {
+                double cellLat = Math.min(89.999999, lat + stepLat / 2);
+                double cellLon = lon + stepLon / 2;
+                if (cellLon >= 180) {
+                    cellLon -= 360;
+                }
+                cells.add(encode(cellLat, cellLon, precision));
+            }
+        }
+        return cells;
+    }
+}
@@ -0,0 +1,125 @@
+package com.complaint.redressal.geo;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable lat/lon polygon (outer ring plus optional holes) with its bounding
+ * box precomputed, so point-in-polygon tests can be rejected cheaply.
+ */
+public class GeoPolygon {
+    private final double[][] ringLats;
+    private final double[][] ringLons;
+
+    private final double minLat;
+    private final double minLon;
+    private final double maxLat;
+    private final double maxLon;
+
+    public GeoPolygon(double[][] ringLats, double[][] ringLons) {
+        if (ringLats.length == 0 || ringLats.length != ringLons.length) {
+            throw new IllegalArgumentException("Polygon must have at least one ring");
+        }
+        this.ringLats = ringLats;
+        this.ringLons = ringLons;
+
+        double minLat = Double.POSITIVE_INFINITY, minLon = Double.POSITIVE_INFINITY;
+        double maxLat = Double.NEGATIVE_INFINITY, maxLon = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < ringLats[0].length; i++) {
+            minLat = Math.min(minLat, ringLats[0][i]);
+            maxLat = Math.max(maxLat, ringLats[0][i]);
+            minLon = Math.min(minLon, ringLons[0][i]);
+            maxLon = Math.max(maxLon, ringLons[0][i]);
+        }
+        this.minLat = minLat;
+        this.minLon = minLon;
+        this.maxLat = maxLat;
+        this.maxLon = maxLon;
+    }
+
+    public boolean contains(double lat, double lon) {
+        if (lat < minLat || lat > maxLat || lon < minLon || lon > maxLon) {
+            return false;
+        }
+        if (!ringContains(ringLats[0], ringLons[0], lat, lon)) {
+            return false;
+        }
+        for (int r = 1; r < ringLats.length; r++) {
+            if (ringContains(ringLats[r], ringLons[r], lat, lon)) {
+                return false; // Inside a hole
+            }
+        }
+        return true;
+    }
+
+    // Even-odd ray casting along the longitude axis
+    private static boolean ringContains(double[] lats, double[] lons, double lat, double lon) {
+        boolean inside = false;
+        for (int i = 0, j = lats.length - 1; i < lats.length; j = i++) {
+            if ((lats[i] > lat) != (lats[j] > lat)
+                    && lon < (lons[j] - lons[i]) * (lat - lats[i]) / (lats[j] - lats[i]) + lons[i]) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+
+    public double getMinLat() {
+        return minLat;
+    }
+
+    public double getMinLon() {
+        return minLon;
+    }
+
+    public double getMaxLat() {
+        return maxLat;
+    }
+
+    public double getMaxLon() {
+        return maxLon;
+    }
+
+    /**
+     * Parses a GeoJSON Polygon or MultiPolygon geometry. Coordinates follow the
+     * GeoJSON [lon, lat] order.
+     */
+    public static List<GeoPolygon> fromGeoJson(JsonNode geometry) {
+        List<GeoPolygon> polygons = new ArrayList<>();
+        if (geometry == null || geometry.isNull()) {
+            return polygons;
+        }
+        String type = geometry.path("type").asText();
+        JsonNode coordinates = geometry.path("coordinates");
+        if ("Polygon".equals(type)) {
+            polygons.add(parsePolygon(coordinates));
+        } else if ("MultiPolygon".equals(type)) {
+            for (JsonNode polygon : coordinates) {
+                polygons.add(parsePolygon(polygon));
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupported geometry type: " + type);
+        }
+        return polygons;
+    }
+
+    private static GeoPolygon parsePolygon(JsonNode rings) {
+        double[][] lats = new double[rings.size()][];
+        double[][] lons = new double[rings.size()][];
+        for (int r = 0; r < rings.size(); r++) {
+            JsonNode ring = rings.get(r);
+            if (ring.size() < 3) {
+                throw new IllegalArgumentException("Polygon ring needs at least 3 positions");
+            }
+            lats[r] = new double[ring.size()];
+            lons[r] = new double[ring.size()];
+            for (int i = 0; i < ring.size(); i++) {
+                lons[r][i] = ring.get(i).get(0).asDouble();
+                lats[r][i] = ring.get(i).get(1).asDouble();
+            }
+        }
+        return new GeoPolygon(lats, lons);
+    }
+}
@@ -0,0 +1,124 @@
+package com.complaint.redressal.geo;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Static 3-d tree over points on the unit sphere. Lat/lon pairs are projected to
+ * Cartesian unit vectors, so the chord distance used for pruning is monotonic in
+ * great-circle distance and nearest-neighbour search stays exact at any latitude.
+ */
+public class KdTree<T> {
+    private final double[][] points; // x, y, z per node in tree order
+    private final Object[] items;
+
+    private KdTree(double[][] points, Object[] items) {
+        this.points = points;
+        this.items = items;
+    }
+
+    public int size() {
+        return items.length;
+    }
+
+    public static <T> KdTree<T> build(List<T> items, Coordinates<T> coordinates) {
+        Object[][] entries = new Object[items.size()][];
+        for (int i = 0; i < items.size(); i++) {
+            T item = items.get(i);
+            entries[i] = new Object[] { toVector(coordinates.latitude(item), coordinates.longitude(item)), item };
+        }
+
+        double[][] points = new double[entries.length][];
+        Object[] ordered = new Object[entries.length];
+        layout(entries, 0, entries.length, 0, points, ordered);
+        return new KdTree<>(points, ordered);
+    }
+
+    // Median-split in place; the median of [from, to) lands at the subtree root
+    private static void layout(Object[][] entries, int from, int to, int depth, double[][] points, Object[] ordered) {
+        if (from >= to) {
+            return;
+        }
+        int axis = depth % 3;
+        Arrays.sort(entries, from, to, Comparator.comparingDouble(e -> ((double[]) e[0])[axis]));
+        int mid = (from + to) >>> 1;
+        points[mid] = (double[]) entries[mid][0];
+        ordered[mid] = entries[mid][1];
+        layout(entries, from, mid, depth + 1, points, ordered);
+        layout(entries, mid + 1, to, depth + 1, points, ordered);
+    }
+
+    @SuppressWarnings("unchecked")
+    public Nearest<T> nearest(double lat, double lon) {
+        if (items.length == 0) {
+            return null;
+        }
+        double[] target = toVector(lat, lon);
+        int[] best = { -1 };
+        double[] bestDist = { Double.MAX_VALUE };
+        search(target, 0, items.length, 0, best, bestDist);
+
+        double chord = Math.sqrt(bestDist[0]);
+        double distanceKm = 2 * GeoUtils.EARTH_RADIUS_KM * Math.asin(Math.min(1.0, chord / 2));
+        return new Nearest<>((T) items[best[0]], distanceKm);
+    }
+
+    private void search(double[] target, int from, int to, int depth, int[] best, double[] bestDist) {
+        if (from >= to) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        double[] p = points[mid];
+        double dx = p[0] - target[0], dy = p[1] - target[1], dz = p[2] - target[2];
+        double dist = dx * dx + dy * dy + dz * dz;
+        if (dist < bestDist[0]) {
+            bestDist[0] = dist;
+            best[0] = mid;
+        }
+
+        int axis = depth % 3;
+        double delta = target[axis] - p[axis];
+        if (delta < 0) {
+            search(target, from, mid, depth + 1, best, bestDist);
+            if (delta * delta < bestDist[0]) {
+                search(target, mid + 1, to, depth + 1, best, bestDist);
+            }
+        } else {
+            search(target, mid + 1, to, depth + 1, best, bestDist);
+            if (delta * delta < bestDist[0]) {
+                search(target, from, mid, depth + 1, best, bestDist);
+            }
+        }
+    }
+
+    private static double[] toVector(double lat, double lon) {
+        double phi = Math.toRadians(lat);
+        double lambda = Math.toRadians(lon);
+        return new double[] { Math.cos(phi) * Math.cos(lambda), Math.cos(phi) * Math.sin(lambda), Math.sin(phi) };
+    }
+
+    public interface Coordinates<T> {
+        double latitude(T item);
+
+        double longitude(T item);
+    }
+
+    public static class Nearest<T> {
+        private final T item;
+        private final double distanceKm;
+
+        Nearest(T item, double distanceKm) {
+            this.item = item;
+            this.distanceKm = distanceKm;
+        }
+
+        public T getItem() {
+            return item;
+        }
+
+        public double getDistanceKm() {
+            return distanceKm;
+        }
+    }
+}
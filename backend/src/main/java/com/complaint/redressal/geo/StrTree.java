@@ -0,0 +1,137 @@
+package com.complaint.redressal.geo;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Read-only R-tree bulk loaded with the Sort-Tile-Recursive algorithm. Built
+ * once from a snapshot of bounding boxes and then queried concurrently without
+ * locking; to change the contents build a new tree and swap it in.
+ */
+public class StrTree<T> {
+    private static final int NODE_CAPACITY = 10;
+
+    private final Node root;
+    private final int size;
+
+    private StrTree(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Visits every item whose bounding box contains the given point. */
+    @SuppressWarnings("unchecked")
+    public void query(double lat, double lon, Consumer<T> visitor) {
+        if (root == null || !root.contains(lat, lon)) {
+            return;
+        }
+        List<Node> stack = new ArrayList<>();
+        stack.add(root);
+        while (!stack.isEmpty()) {
+            Node node = stack.remove(stack.size() - 1);
+            for (Node child : node.children) {
+                if (!child.contains(lat, lon)) {
+                    continue;
+                }
+                if (child.item != null) {
+                    visitor.accept((T) child.item);
+                } else {
+                    stack.add(child);
+                }
+            }
+        }
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    public static class Builder<T> {
+        private final List<Node> leaves = new ArrayList<>();
+
+        public Builder<T> add(double minLat, double minLon, double maxLat, double maxLon, T item) {
+            Node leaf = new Node(minLat, minLon, maxLat, maxLon);
+            leaf.item = item;
+            leaves.add(leaf);
+            return this;
+        }
+
+        public StrTree<T> build() {
+            if (leaves.isEmpty()) {
+                return new StrTree<>(null, 0);
+            }
+            List<Node> level = new ArrayList<>(leaves);
+            do {
+                level = packLevel(level);
+            } while (level.size() > 1);
+            return new StrTree<>(level.get(0), leaves.size());
+        }
+
+        private static List<Node> packLevel(List<Node> nodes) {
+            int parentCount = (int) Math.ceil(nodes.size() / (double) NODE_CAPACITY);
+            int sliceCount = (int) Math.ceil(Math.sqrt(parentCount));
+            int sliceSize = sliceCount * NODE_CAPACITY;
+
+            List<Node> sorted = new ArrayList<>(nodes);
+            sorted.sort(Comparator.comparingDouble(Node::centerLon));
+
+            List<Node> parents = new ArrayList<>(parentCount);
+            for (int s = 0; s < sorted.size(); s += sliceSize) {
+                List<Node> slice = new ArrayList<>(sorted.subList(s, Math.min(s + sliceSize, sorted.size())));
+                slice.sort(Comparator.comparingDouble(Node::centerLat));
+                for (int i = 0; i < slice.size(); i += NODE_CAPACITY) {
+                    parents.add(Node.parentOf(slice.subList(i, Math.min(i + NODE_CAPACITY, slice.size()))));
+                }
+            }
+            return parents;
+        }
+    }
+
+    private static class Node {
+        final double minLat;
+        final double minLon;
+        final double maxLat;
+        final double maxLon;
+        Object item;
+        Node[] children = new Node[0];
+
+        Node(double minLat, double minLon, double maxLat, double maxLon) {
+            this.minLat = minLat;
+            this.minLon = minLon;
+            this.maxLat = maxLat;
+            this.maxLon = maxLon;
+        }
+
+        static Node parentOf(List<Node> children) {
+            double minLat = Double.POSITIVE_INFINITY, minLon = Double.POSITIVE_INFINITY;
+            double maxLat = Double.NEGATIVE_INFINITY, maxLon = Double.NEGATIVE_INFINITY;
+            for (Node child : children) {
+                minLat = Math.min(minLat, child.minLat);
+                minLon = Math.min(minLon, child.minLon);
+                maxLat = Math.max(maxLat, child.maxLat);
+                maxLon = Math.max(maxLon, child.maxLon);
+            }
+            Node parent = new Node(minLat, minLon, maxLat, maxLon);
+            parent.children = children.toArray(new Node[0]);
+            return parent;
+        }
+
+        boolean contains(double lat, double lon) {
+            return lat >= minLat && lat <= maxLat && lon >= minLon && lon <= maxLon;
+        }
+
+        double centerLat() {
+            return (minLat + maxLat) / 2;
+        }
+
+        double centerLon() {
+            return (minLon + maxLon) / 2;
+        }
+    }
+}
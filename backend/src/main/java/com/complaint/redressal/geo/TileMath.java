@@ -0,0 +1,36 @@
+package com.complaint.redressal.geo;
+
+/**
+ * Web Mercator (slippy map) tile arithmetic, matching the z/x/y scheme used by
+ * Leaflet and OpenStreetMap tiles.
+ */
+public final class TileMath {
+    public static final double MAX_LATITUDE = 85.05112878;
+
+    private TileMath() {
+    }
+
+    public static long tileX(double lon, int zoom) {
+        long n = 1L << zoom;
+        long x = (long) Math.floor((lon + 180) / 360 * n);
+        return Math.max(0, Math.min(n - 1, x));
+    }
+
+    public static long tileY(double lat, int zoom) {
+        long n = 1L << zoom;
+        double latRad = Math.toRadians(Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, lat)));
+        long y = (long) Math.floor((1 - Math.log(Math.tan(latRad) + 1 / Math.cos(latRad)) / Math.PI) / 2 * n);
+        return Math.max(0, Math.min(n - 1, y));
+    }
+
+    // Longitude of the tile's west edge (x + 1 gives the east edge)
+    public static double tileLon(double x, int zoom) {
+        return x / (1L << zoom) * 360 - 180;
+    }
+
+    // Latitude of the tile's north edge (y + 1 gives the south edge)
+    public static double tileLat(double y, int zoom) {
+        double n = Math.PI - 2 * Math.PI * y / (1L << zoom);
+        return Math.toDegrees(Math.atan(Math.sinh(n)));
+    }
+}
@@ -28,6 +28,10 @@ public class Admin {
     @Column(name = "force_password_change", columnDefinition = "boolean default false")
     private boolean forcePasswordChange = false;
 
+    // Copied into issued JWTs; bumping it revokes every outstanding token
+    @Column(columnDefinition = "integer default 0")
+    private int tokenVersion;
+
     @Column(columnDefinition = "varchar(255) default 'ADMIN'")
     private String role = "ADMIN";
 
@@ -0,0 +1,60 @@
+package com.complaint.redressal.model;
+
+import javax.persistence.*;
+import java.sql.Timestamp;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Cold copy of a closed complaint, moved here by ComplaintArchiveService. Same
+ * columns as complaints (ids are kept) plus the time it was archived; rows are
+ * only ever inserted by the archiver's insert ... select.
+ */
+@Entity
+@Table(name = "complaints_archive", indexes = {
+        @Index(name = "idx_complaints_archive_archived", columnList = "archivedAt")
+})
+@Data
+@NoArgsConstructor
+public class ArchivedComplaint {
+    @Id
+    private Long id;
+
+    private String title;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    private ComplaintCategory category;
+
+    @Enumerated(EnumType.STRING)
+    private ComplaintStatus status;
+
+    private Double latitude;
+    private Double longitude;
+    private String address;
+    private String geohash;
+    private String imageUrl;
+
+    @ManyToOne
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    @ManyToOne
+    @JoinColumn(name = "assigned_department_id")
+    private Department assignedDepartment;
+
+    @ManyToOne
+    @JoinColumn(name = "municipality_id")
+    private Municipality municipality;
+
+    private String cityName;
+
+    @Column(name = "duplicate_of_id")
+    private Long duplicateOfId;
+
+    private Timestamp createdAt;
+    private Timestamp updatedAt;
+    private Timestamp archivedAt;
+}
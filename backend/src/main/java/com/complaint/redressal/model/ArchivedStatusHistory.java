@@ -0,0 +1,32 @@
+package com.complaint.redressal.model;
+
+import javax.persistence.*;
+import java.sql.Timestamp;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "status_history_archive", indexes = {
+        @Index(name = "idx_status_history_archive_complaint", columnList = "complaint_id")
+})
+@Data
+@NoArgsConstructor
+public class ArchivedStatusHistory {
+    @Id
+    private Long id;
+
+    // Plain id: the complaint lives in complaints_archive by the time this row exists
+    @Column(name = "complaint_id")
+    private Long complaintId;
+
+    @Enumerated(EnumType.STRING)
+    private ComplaintStatus status;
+
+    private String remarks;
+
+    @ManyToOne
+    @JoinColumn(name = "updated_by_admin_id")
+    private Admin updatedBy;
+
+    private Timestamp timestamp;
+}
@@ -1,5 +1,7 @@
 package com.complaint.redressal.model;
 
+import com.complaint.redressal.geo.GeoHash;
+
 import javax.persistence.*;
 import java.sql.Timestamp;
 import java.time.Instant;
@@ -7,10 +9,30 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "complaints")
+@NamedEntityGraph(name = Complaint.DETAIL_GRAPH, attributeNodes = {
+        @NamedAttributeNode("user"),
+        @NamedAttributeNode("assignedDepartment"),
+        @NamedAttributeNode("municipality")
+})
+@Table(name = "complaints", indexes = {
+        @Index(name = "idx_complaints_geohash", columnList = "geohash"),
+        // Keyset pagination: (scope, [filter,] created_at, id) in newest-first order
+        @Index(name = "idx_complaints_created", columnList = "createdAt, id"),
+        @Index(name = "idx_complaints_municipality_created", columnList = "municipality_id, createdAt, id"),
+        @Index(name = "idx_complaints_municipality_status_created", columnList = "municipality_id, status, createdAt, id"),
+        @Index(name = "idx_complaints_municipality_category_created", columnList = "municipality_id, category, createdAt, id"),
+        @Index(name = "idx_complaints_status_created", columnList = "status, createdAt, id"),
+        @Index(name = "idx_complaints_category_created", columnList = "category, createdAt, id"),
+        @Index(name = "idx_complaints_user_created", columnList = "user_id, createdAt, id"),
+        // Archival candidates: closed complaints by last change
+        @Index(name = "idx_complaints_status_updated", columnList = "status, updatedAt, id")
+})
 @Data
 @NoArgsConstructor
 public class Complaint {
+    public static final int GEOHASH_PRECISION = 9; // ~5m cells
+    public static final String DETAIL_GRAPH = "Complaint.detail";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -29,6 +51,9 @@ public class Complaint {
     private Double latitude;
     private Double longitude;
     private String address;
+
+    @Column(length = GeoHash.MAX_PRECISION)
+    private String geohash;
     private String imageUrl;
 
     @ManyToOne
@@ -45,6 +70,10 @@ public class Complaint {
 
     private String cityName;
 
+    // Earlier open complaint this one probably duplicates (same category, place and time window)
+    @Column(name = "duplicate_of_id")
+    private Long duplicateOfId;
+
     private Timestamp createdAt;
     private Timestamp updatedAt;
 
@@ -55,10 +84,18 @@ public class Complaint {
         if (status == null) {
             status = ComplaintStatus.PENDING;
         }
+        updateGeohash();
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = Timestamp.from(Instant.now());
+        updateGeohash();
+    }
+
+    public void updateGeohash() {
+        geohash = (latitude != null && longitude != null)
+                ? GeoHash.encode(latitude, longitude, GEOHASH_PRECISION)
+                : null;
     }
 }
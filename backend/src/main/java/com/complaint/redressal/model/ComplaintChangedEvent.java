@@ -0,0 +1,67 @@
+package com.complaint.redressal.model;
+
+import lombok.Data;
+
+import java.sql.Timestamp;
+
+/**
+ * Published by ComplaintService for every create, status change and delete, and
+ * by ComplaintArchiveService when a closed complaint moves to the archive tables.
+ * Carries a snapshot of the fields derived views need, so listeners never have
+ * to touch the (possibly detached) entity after commit.
+ */
+@Data
+public class ComplaintChangedEvent {
+    public enum Type {
+        CREATED,
+        STATUS_CHANGED,
+        DELETED,
+        ARCHIVED // Left the hot table; previousStatus == status, so totals are unchanged
+    }
+
+    private final Type type;
+    private final Long complaintId;
+    private final ComplaintCategory category;
+    private final ComplaintStatus previousStatus; // Null for CREATED
+    private final ComplaintStatus status; // Null for DELETED
+    private final Double latitude;
+    private final Double longitude;
+    private final Long municipalityId;
+    private final Long departmentId;
+    private final Timestamp createdAt;
+    private final String title;
+    private final String description;
+    private final String address;
+
+    public static ComplaintChangedEvent created(Complaint complaint) {
+        return of(Type.CREATED, complaint, null, complaint.getStatus());
+    }
+
+    public static ComplaintChangedEvent statusChanged(Complaint complaint, ComplaintStatus previousStatus) {
+        return of(Type.STATUS_CHANGED, complaint, previousStatus, complaint.getStatus());
+    }
+
+    public static ComplaintChangedEvent deleted(Complaint complaint) {
+        return of(Type.DELETED, complaint, complaint.getStatus(), null);
+    }
+
+    // Built from an archive batch row; no entity is loaded and the text fields are not needed
+    public static ComplaintChangedEvent archived(Long complaintId, ComplaintCategory category, ComplaintStatus status,
+            Double latitude, Double longitude, Long municipalityId, Long departmentId, Timestamp createdAt) {
+        return new ComplaintChangedEvent(Type.ARCHIVED, complaintId, category, status, status, latitude, longitude,
+                municipalityId, departmentId, createdAt, null, null, null);
+    }
+
+    private static ComplaintChangedEvent of(Type type, Complaint complaint, ComplaintStatus previousStatus,
+            ComplaintStatus status) {
+        return new ComplaintChangedEvent(type, complaint.getId(), complaint.getCategory(), previousStatus, status,
+                complaint.getLatitude(), complaint.getLongitude(),
+                complaint.getMunicipality() != null ? complaint.getMunicipality().getId() : null,
+                complaint.getAssignedDepartment() != null ? complaint.getAssignedDepartment().getId() : null,
+                complaint.getCreatedAt(), complaint.getTitle(), complaint.getDescription(), complaint.getAddress());
+    }
+
+    public boolean isOpen() {
+        return status == ComplaintStatus.PENDING || status == ComplaintStatus.IN_PROGRESS;
+    }
+}
@@ -0,0 +1,42 @@
+package com.complaint.redressal.model;
+
+import javax.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Materialised complaint count for one (municipality, department, category, status)
+ * combination. Missing municipality or department is stored as 0 so the unique key
+ * also covers those rows. Maintained by ComplaintCounterService.
+ */
+@Entity
+@Table(name = "complaint_counters", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_complaint_counters_key",
+                columnNames = { "municipalityId", "departmentId", "category", "status" })
+})
+@Data
+@NoArgsConstructor
+public class ComplaintCounter {
+    public static final long NONE = 0L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long municipalityId;
+
+    @Column(nullable = false)
+    private Long departmentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ComplaintCategory category;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ComplaintStatus status;
+
+    @Column(nullable = false)
+    private long complaintCount;
+}
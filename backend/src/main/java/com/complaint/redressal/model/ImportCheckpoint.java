@@ -0,0 +1,25 @@
+package com.complaint.redressal.model;
+
+import javax.persistence.*;
+import java.sql.Timestamp;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of one bulk import job. Advanced in the same transaction as each
+ * inserted chunk, so a resumed job skips exactly the rows already committed.
+ */
+@Entity
+@Table(name = "import_checkpoints")
+@Data
+@NoArgsConstructor
+public class ImportCheckpoint {
+    @Id
+    @Column(length = 100)
+    private String jobId;
+
+    private long rowsDone; // Source rows consumed, imported or failed
+    private long imported;
+    private long failed;
+    private Timestamp updatedAt;
+}
@@ -1,11 +1,14 @@
 package com.complaint.redressal.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+@EntityListeners(MunicipalityChangeListener.class)
 @Table(name = "municipalities", uniqueConstraints = {
         @UniqueConstraint(columnNames = "name")
 })
@@ -22,6 +25,15 @@ public class Municipality {
     @NotBlank
     private String district;
 
+    // Reference point used when a location falls outside every boundary
+    private Double centerLatitude;
+    private Double centerLongitude;
+
+    // GeoJSON Polygon/MultiPolygon geometry, [lon, lat] order
+    @JsonIgnore
+    @Column(columnDefinition = "LONGTEXT")
+    private String boundary;
+
     public Municipality(String name, String district) {
         this.name = name;
         this.district = district;
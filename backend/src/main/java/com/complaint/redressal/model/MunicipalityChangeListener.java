@@ -0,0 +1,22 @@
+package com.complaint.redressal.model;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+// Instantiated by Hibernate through Spring's bean container, so injection works here
+public class MunicipalityChangeListener {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Municipality municipality) {
+        eventPublisher.publishEvent(new MunicipalityChangedEvent(municipality.getId()));
+    }
+}
@@ -0,0 +1,10 @@
+package com.complaint.redressal.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class MunicipalityChangedEvent {
+    private Long municipalityId;
+}
@@ -1,5 +1,8 @@
 package com.complaint.redressal.model;
 
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
 import javax.persistence.*;
 import java.sql.Timestamp;
 import java.time.Instant;
@@ -11,8 +14,17 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 public class StatusHistory {
+    public static final String ID_SEQUENCE = "status_history_seq";
+
+    // Pooled ids instead of IDENTITY so Hibernate can batch inserts; on MySQL the
+    // sequence is emulated by a one-row table and hands out blocks of 50
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = ID_SEQUENCE)
+    @GenericGenerator(name = ID_SEQUENCE, strategy = "enhanced-sequence", parameters = {
+            @Parameter(name = "sequence_name", value = ID_SEQUENCE),
+            @Parameter(name = "increment_size", value = "50"),
+            @Parameter(name = "optimizer", value = "pooled-lo")
+    })
     private Long id;
 
     @ManyToOne
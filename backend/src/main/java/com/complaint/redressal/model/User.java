@@ -1,5 +1,7 @@
 package com.complaint.redressal.model;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+
 import javax.persistence.*;
 import javax.validation.constraints.Email;
 import javax.validation.constraints.NotBlank;
@@ -13,7 +15,10 @@ import lombok.NoArgsConstructor;
 })
 @Data
 @NoArgsConstructor
+@JsonFilter(User.PII_FILTER)
 public class User {
+    public static final String PII_FILTER = "userPii";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -31,4 +36,8 @@ public class User {
 
     @Email
     private String email;
+
+    // Copied into issued JWTs; bumping it revokes every outstanding token
+    @Column(columnDefinition = "integer default 0")
+    private int tokenVersion;
 }
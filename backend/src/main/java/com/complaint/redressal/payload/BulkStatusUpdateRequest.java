@@ -0,0 +1,19 @@
+package com.complaint.redressal.payload;
+
+import com.complaint.redressal.model.ComplaintStatus;
+import lombok.Data;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import java.util.List;
+
+@Data
+public class BulkStatusUpdateRequest {
+    @NotEmpty
+    private List<Long> ids;
+
+    @NotNull
+    private ComplaintStatus status;
+
+    private String remarks;
+}
@@ -0,0 +1,16 @@
+package com.complaint.redressal.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusUpdateResponse {
+    private int updated;
+    // Ids that do not exist or are outside the admin's municipality
+    private List<Long> skipped;
+}
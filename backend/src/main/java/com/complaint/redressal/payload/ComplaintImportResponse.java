@@ -0,0 +1,18 @@
+package com.complaint.redressal.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ComplaintImportResponse {
+    private String jobId;
+    private long resumedFrom; // Rows skipped because an earlier run committed them
+    private long rowsRead;
+    private long imported;
+    private long failed;
+    private long elapsedMs;
+    private double rowsPerSecond;
+}
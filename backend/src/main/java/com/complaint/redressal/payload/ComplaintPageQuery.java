@@ -0,0 +1,26 @@
+package com.complaint.redressal.payload;
+
+import com.complaint.redressal.model.ComplaintCategory;
+import com.complaint.redressal.model.ComplaintStatus;
+import lombok.Data;
+
+import java.sql.Timestamp;
+
+@Data
+public class ComplaintPageQuery {
+    // Scope (at most one is set; neither means all complaints)
+    private Long municipalityId;
+    private Long userId;
+
+    // Filters
+    private ComplaintStatus status;
+    private ComplaintCategory category;
+    private Timestamp createdFrom; // Inclusive
+    private Timestamp createdTo; // Exclusive
+
+    // Keyset position: rows strictly after (cursorCreatedAt, cursorId) in newest-first order
+    private Timestamp cursorCreatedAt;
+    private Long cursorId;
+
+    private int limit;
+}
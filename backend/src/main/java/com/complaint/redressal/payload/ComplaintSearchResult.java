@@ -0,0 +1,20 @@
+package com.complaint.redressal.payload;
+
+import com.complaint.redressal.model.Complaint;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ComplaintSearchResult {
+    private List<Complaint> items; // Best match first
+    private long total;
+    private int page;
+    private int size;
+    private Map<String, Map<String, Long>> facets; // "category" and "status" -> value -> count
+}
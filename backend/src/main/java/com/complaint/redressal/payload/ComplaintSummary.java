@@ -0,0 +1,16 @@
+package com.complaint.redressal.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComplaintSummary {
+    private long total;
+    private Map<String, Long> byStatus;
+    private Map<String, Long> byCategory;
+}
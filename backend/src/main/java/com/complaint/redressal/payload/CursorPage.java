@@ -0,0 +1,16 @@
+package com.complaint.redressal.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor; // Null on the last page
+    private boolean hasMore;
+}
@@ -0,0 +1,32 @@
+package com.complaint.redressal.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class HeatmapTile {
+    private int z;
+    private long x;
+    private long y;
+    private int gridSize; // Cells per tile edge
+    private List<Cell> cells;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Cell {
+        private int cx; // Column within the tile, 0..gridSize-1
+        private int cy; // Row within the tile, 0..gridSize-1
+        private double latitude; // Cell centre
+        private double longitude;
+        private long total;
+        private Map<String, Long> byStatus;
+        private Map<String, Long> byCategory;
+    }
+}
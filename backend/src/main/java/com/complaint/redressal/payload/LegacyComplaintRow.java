@@ -0,0 +1,26 @@
+package com.complaint.redressal.payload;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One legacy complaint as it appears in an import file (CSV header names and
+ * JSON property names are the field names). Only title and category are
+ * required; status defaults to PENDING, and municipality and department are
+ * derived from location and category when absent.
+ */
+@Data
+@NoArgsConstructor
+public class LegacyComplaintRow {
+    private String title;
+    private String description;
+    private String category;
+    private String status;
+    private Double latitude;
+    private Double longitude;
+    private String address;
+    private String username; // Complainant account, if one exists
+    private String department;
+    private String municipality;
+    private String createdAt; // yyyy-MM-dd, yyyy-MM-dd HH:mm:ss or ISO-8601
+}
@@ -0,0 +1,14 @@
+package com.complaint.redressal.payload;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Data;
+
+@Data
+public class MunicipalityBoundaryRequest {
+    private Double centerLatitude;
+
+    private Double centerLongitude;
+
+    // GeoJSON Polygon or MultiPolygon geometry
+    private JsonNode boundary;
+}
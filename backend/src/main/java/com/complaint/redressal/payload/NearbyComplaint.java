@@ -0,0 +1,38 @@
+package com.complaint.redressal.payload;
+
+import com.complaint.redressal.model.ComplaintCategory;
+import com.complaint.redressal.model.ComplaintStatus;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+import java.util.Date;
+
+@Data
+@NoArgsConstructor
+public class NearbyComplaint {
+    private Long id;
+    private String title;
+    private ComplaintCategory category;
+    private ComplaintStatus status;
+    private Double latitude;
+    private Double longitude;
+    private String address;
+    private String cityName;
+    private Timestamp createdAt;
+    private double distanceKm;
+
+    // Used by the JPQL constructor expression in ComplaintRepository
+    public NearbyComplaint(Long id, String title, ComplaintCategory category, ComplaintStatus status,
+            Double latitude, Double longitude, String address, String cityName, Date createdAt) {
+        this.id = id;
+        this.title = title;
+        this.category = category;
+        this.status = status;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.address = address;
+        this.cityName = cityName;
+        this.createdAt = createdAt != null ? new Timestamp(createdAt.getTime()) : null;
+    }
+}
@@ -0,0 +1,16 @@
+package com.complaint.redressal.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReverseGeocodeResponse {
+    private String locality; // Null when no gazetteer entry is close enough
+    private String city;
+    private String district;
+    private double distanceKm;
+    private String displayName;
+}
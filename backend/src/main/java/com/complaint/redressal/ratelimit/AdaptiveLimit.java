@@ -0,0 +1,102 @@
+package com.complaint.redressal.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrency limit that follows measured latency (gradient style). A fast
+ * moving average of request latency is compared with a slow one: while they
+ * agree the limit grows by about sqrt(limit) per update, and once recent
+ * requests are slower than tolerance x the long-term average the limit is
+ * scaled down by that ratio (at most halved). A slow database therefore
+ * shrinks the number of requests waiting on it instead of letting them pile
+ * up on Tomcat threads.
+ */
+final class AdaptiveLimit {
+    // Moving averages over roughly the last 10 and 600 samples
+    private static final double SHORT_ALPHA = 2.0 / 11;
+    private static final double LONG_ALPHA = 2.0 / 601;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong shed = new AtomicLong();
+    private volatile double limit;
+
+    // Guarded by this
+    private double shortRtt;
+    private double longRtt;
+
+    AdaptiveLimit(ConcurrencyLimitProperties.Limit config, double tolerance, double smoothing) {
+        this.minLimit = Math.max(1, config.getMinLimit());
+        this.maxLimit = Math.max(minLimit, config.getMaxLimit());
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.limit = Math.min(maxLimit, Math.max(minLimit, config.getInitialLimit()));
+    }
+
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                shed.incrementAndGet();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void release(long rttNanos, boolean sample) {
+        int current = inFlight.getAndDecrement();
+        if (sample) {
+            update(rttNanos, current);
+        }
+    }
+
+    private synchronized void update(long rttNanos, int inFlightAtCompletion) {
+        if (shortRtt == 0) {
+            shortRtt = rttNanos;
+            longRtt = rttNanos;
+            return;
+        }
+        shortRtt += (rttNanos - shortRtt) * SHORT_ALPHA;
+        longRtt += (rttNanos - longRtt) * LONG_ALPHA;
+        // After a long slowdown the baseline would stay inflated; let it catch up on recovery
+        if (longRtt > 2 * shortRtt) {
+            longRtt *= 0.95;
+        }
+        // A limit that is not being used says nothing about whether it is right
+        if (inFlightAtCompletion < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double estimate = limit * gradient + Math.sqrt(limit);
+        double next = limit * (1 - smoothing) + estimate * smoothing;
+        limit = Math.min(maxLimit, Math.max(minLimit, next));
+    }
+
+    int getLimit() {
+        return (int) limit;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    long getShed() {
+        return shed.get();
+    }
+
+    synchronized double getShortRttMs() {
+        return shortRtt / 1_000_000;
+    }
+
+    synchronized double getLongRttMs() {
+        return longRtt / 1_000_000;
+    }
+}
@@ -0,0 +1,137 @@
+package com.complaint.redressal.ratelimit;
+
+import com.complaint.redressal.payload.MessageResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.annotation.PostConstruct;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sheds /api requests with 503 once a route class (auth, read, write, upload)
+ * has as many requests in flight as its adaptive limit allows; see
+ * AdaptiveLimit. Each class has its own limit, so a slow upload path or a
+ * login spike cannot take all threads from complaint reads. Async requests
+ * (logins, streaming exports) keep their slot until the async work completes.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    private static final String IMPORT_PATH = "/api/super-admin/complaints/import";
+
+    @Autowired
+    private ConcurrencyLimitProperties properties;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+    private final Map<String, AdaptiveLimit> limits = new LinkedHashMap<>();
+    private final Set<String> unsampledPaths = new HashSet<>();
+
+    @PostConstruct
+    public void init() {
+        limits.put("auth", limit(properties.getAuth()));
+        limits.put("read", limit(properties.getRead()));
+        limits.put("write", limit(properties.getWrite()));
+        limits.put("upload", limit(properties.getUpload()));
+        unsampledPaths.addAll(properties.getUnsampledPaths());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || !urlPathHelper.getPathWithinApplication(request).startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = urlPathHelper.getPathWithinApplication(request);
+        AdaptiveLimit limit = limits.get(routeClass(request, path));
+        if (!limit.tryAcquire()) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(),
+                    new MessageResponse("Error: Server is busy, please retry shortly"));
+            return;
+        }
+
+        boolean sample = !unsampledPaths.contains(path);
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // complete fires once, after any timeout or error handling
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        limit.release(System.nanoTime() - start, sample);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                limit.release(System.nanoTime() - start, sample);
+            }
+        }
+    }
+
+    // route class -> limit, inFlight, shed, shortRttMs, longRttMs
+    public Map<String, Map<String, Number>> getStats() {
+        Map<String, Map<String, Number>> stats = new LinkedHashMap<>();
+        limits.forEach((name, limit) -> {
+            Map<String, Number> entry = new LinkedHashMap<>();
+            entry.put("limit", limit.getLimit());
+            entry.put("inFlight", limit.getInFlight());
+            entry.put("shed", limit.getShed());
+            entry.put("shortRttMs", Math.round(limit.getShortRttMs() * 10) / 10.0);
+            entry.put("longRttMs", Math.round(limit.getLongRttMs() * 10) / 10.0);
+            stats.put(name, entry);
+        });
+        return stats;
+    }
+
+    private static String routeClass(HttpServletRequest request, String path) {
+        if (path.startsWith("/api/auth/")) {
+            return "auth";
+        }
+        String method = request.getMethod();
+        if ("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method)) {
+            return "read";
+        }
+        String contentType = request.getContentType();
+        if ((contentType != null && contentType.toLowerCase().startsWith("multipart/")) || IMPORT_PATH.equals(path)) {
+            return "upload";
+        }
+        return "write";
+    }
+
+    private AdaptiveLimit limit(ConcurrencyLimitProperties.Limit config) {
+        return new AdaptiveLimit(config, properties.getTolerance(), properties.getSmoothing());
+    }
+}
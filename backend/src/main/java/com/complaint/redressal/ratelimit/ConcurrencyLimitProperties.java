@@ -0,0 +1,39 @@
+package com.complaint.redressal.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "app.concurrency")
+public class ConcurrencyLimitProperties {
+    private boolean enabled = true;
+
+    // One limit per route class
+    private Limit auth = new Limit(20, 2, 100);
+    private Limit read = new Limit(50, 5, 200);
+    private Limit write = new Limit(20, 2, 100);
+    private Limit upload = new Limit(8, 1, 32);
+
+    // Latency may grow to tolerance x the long-term average before the limit shrinks
+    private double tolerance = 1.5;
+
+    // Weight of each new limit estimate, so one slow request does not halve the limit
+    private double smoothing = 0.2;
+
+    // Still limited, but their duration depends on data volume, so they are not latency samples
+    private List<String> unsampledPaths = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+    }
+}
@@ -0,0 +1,167 @@
+package com.complaint.redressal.ratelimit;
+
+import com.complaint.redressal.payload.MessageResponse;
+import com.complaint.redressal.security.services.UserDetailsImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.annotation.PostConstruct;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-route token buckets keyed by the authenticated principal, or by client
+ * address for anonymous requests (login, registration). Runs in the security
+ * chain right after AuthTokenFilter, so an over-limit upload or login is
+ * answered with 429 and Retry-After before the multipart body is parsed or
+ * BCrypt is run. Behind a reverse proxy, set server.forward-headers-strategy
+ * so the client address is the real one.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    @Autowired
+    private RateLimitProperties properties;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+    private final List<Limiter> limiters = new ArrayList<>();
+
+    @PostConstruct
+    public void init() {
+        for (RateLimitProperties.Route route : properties.getRoutes()) {
+            if (route.getCapacity() < 1 || route.getRefillPerMinute() < 1) {
+                throw new IllegalStateException("Rate limit route " + route.getName()
+                        + " needs capacity and refillPerMinute >= 1");
+            }
+            limiters.add(new Limiter(route));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || limiters.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Limiter limiter = match(request);
+        if (limiter == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long wait = limiter.bucket(clientKey(request)).tryAcquire(System.nanoTime(), limiter.intervalNanos,
+                limiter.burstNanos);
+        if (wait == 0) {
+            limiter.allowed.incrementAndGet();
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        limiter.rejected.incrementAndGet();
+        long retryAfter = Math.max(1, (wait + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new MessageResponse("Error: Too many requests, retry in " + retryAfter + " s"));
+    }
+
+    // Full buckets are dropped; a bucket that is missing behaves exactly like a full one
+    @Scheduled(fixedDelayString = "${app.ratelimit.sweepMs:60000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(properties.getIdleEvictMs());
+        int evicted = 0;
+        for (Limiter limiter : limiters) {
+            int before = limiter.buckets.size();
+            limiter.buckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+            evicted += before - limiter.buckets.size();
+        }
+        if (evicted > 0) {
+            logger.debug("Evicted {} idle rate limit buckets", evicted);
+        }
+    }
+
+    // route name -> allowed, rejected, buckets
+    public Map<String, Map<String, Long>> getStats() {
+        Map<String, Map<String, Long>> stats = new LinkedHashMap<>();
+        for (Limiter limiter : limiters) {
+            Map<String, Long> route = new LinkedHashMap<>();
+            route.put("allowed", limiter.allowed.get());
+            route.put("rejected", limiter.rejected.get());
+            route.put("buckets", (long) limiter.buckets.size());
+            stats.put(limiter.name, route);
+        }
+        return stats;
+    }
+
+    private Limiter match(HttpServletRequest request) {
+        String path = urlPathHelper.getPathWithinApplication(request);
+        for (Limiter limiter : limiters) {
+            if ((limiter.method == null || limiter.method.equalsIgnoreCase(request.getMethod()))
+                    && pathMatcher.match(limiter.path, path)) {
+                return limiter;
+            }
+        }
+        return null;
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl) {
+            UserDetailsImpl principal = (UserDetailsImpl) authentication.getPrincipal();
+            return (principal.isAdmin() ? "admin:" : "user:") + principal.getId();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static class Limiter {
+        final String name;
+        final String method;
+        final String path;
+        final long intervalNanos;
+        final long burstNanos;
+        final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+        final AtomicLong allowed = new AtomicLong();
+        final AtomicLong rejected = new AtomicLong();
+
+        Limiter(RateLimitProperties.Route route) {
+            this.name = route.getName();
+            this.method = route.getMethod() == null || route.getMethod().isEmpty() ? null : route.getMethod();
+            this.path = route.getPath();
+            this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / route.getRefillPerMinute();
+            this.burstNanos = intervalNanos * route.getCapacity();
+        }
+
+        TokenBucket bucket(String key) {
+            return buckets.computeIfAbsent(key, k -> new TokenBucket());
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.complaint.redressal.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "app.ratelimit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+
+    // First matching route wins; requests matching no route are not limited
+    private List<Route> routes = new ArrayList<>();
+
+    // Buckets untouched for this long have refilled completely and are dropped
+    private long idleEvictMs = 600000;
+
+    @Data
+    public static class Route {
+        private String name;
+
+        // Any method when empty
+        private String method;
+
+        // Ant pattern matched against the path within the application
+        private String path;
+
+        // Burst size: requests a fresh client may make at once
+        private int capacity;
+
+        // Sustained rate once the burst is used up
+        private int refillPerMinute;
+    }
+}
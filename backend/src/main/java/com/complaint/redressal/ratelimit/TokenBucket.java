@@ -0,0 +1,33 @@
+package com.complaint.redressal.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket kept as a single "theoretical arrival time" (the
+ * GCRA form of a token bucket): the bucket is full when that time is in the
+ * past, and each request pushes it one refill interval further. Taking a
+ * token is one CAS, and the wait until the next token falls out directly.
+ */
+final class TokenBucket {
+    private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+    // Returns 0 when a token was taken, otherwise the nanos until one is available
+    long tryAcquire(long now, long intervalNanos, long burstNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // Dropping a bucket that has been full this long loses nothing
+    boolean isIdle(long now, long idleNanos) {
+        return theoreticalArrival.get() <= now - idleNanos;
+    }
+}
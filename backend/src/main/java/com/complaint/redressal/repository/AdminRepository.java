@@ -1,14 +1,25 @@
 package com.complaint.redressal.repository;
 
 import com.complaint.redressal.model.Admin;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface AdminRepository extends JpaRepository<Admin, Long> {
+    @Override
+    @EntityGraph(attributePaths = { "department", "municipality" })
+    List<Admin> findAll();
+
     Optional<Admin> findByUsername(String username);
 
     Boolean existsByUsername(String username);
+
+    @Query("select a.tokenVersion from Admin a where a.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") Long id);
 }
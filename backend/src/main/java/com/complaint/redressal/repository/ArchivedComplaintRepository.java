@@ -0,0 +1,23 @@
+package com.complaint.redressal.repository;
+
+import com.complaint.redressal.model.ArchivedComplaint;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ArchivedComplaintRepository extends JpaRepository<ArchivedComplaint, Long> {
+    @Override
+    @EntityGraph(attributePaths = { "user", "assignedDepartment", "municipality" })
+    Optional<ArchivedComplaint> findById(Long id);
+
+    // municipality id, department id, category, status, count
+    @Query("select m.id, d.id, c.category, c.status, count(c) from ArchivedComplaint c "
+            + "left join c.municipality m left join c.assignedDepartment d "
+            + "group by m.id, d.id, c.category, c.status")
+    List<Object[]> countByMunicipalityDepartmentCategoryAndStatus();
+}
@@ -0,0 +1,24 @@
+package com.complaint.redressal.repository;
+
+import com.complaint.redressal.model.ComplaintCategory;
+import com.complaint.redressal.model.ComplaintCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ComplaintCounterRepository extends JpaRepository<ComplaintCounter, Long> {
+    List<ComplaintCounter> findByMunicipalityId(Long municipalityId);
+
+    // Row-level upsert, so concurrent writers never lose an increment
+    @Modifying
+    @Query(value = "insert into complaint_counters (municipality_id, department_id, category, status, complaint_count) "
+            + "values (:municipalityId, :departmentId, :category, :status, :delta) "
+            + "on duplicate key update complaint_count = complaint_count + :delta", nativeQuery = true)
+    void increment(@Param("municipalityId") long municipalityId, @Param("departmentId") long departmentId,
+            @Param("category") String category, @Param("status") String status, @Param("delta") long delta);
+}
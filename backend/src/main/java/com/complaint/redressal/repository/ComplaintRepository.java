@@ -1,28 +1,45 @@
 package com.complaint.redressal.repository;
 
 import com.complaint.redressal.model.Complaint;
+import com.complaint.redressal.model.ComplaintCategory;
 import com.complaint.redressal.model.ComplaintStatus;
 import com.complaint.redressal.model.Department;
-import com.complaint.redressal.model.User;
+import com.complaint.redressal.payload.NearbyComplaint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
 
 import com.complaint.redressal.model.Municipality;
+import org.springframework.data.jpa.repository.EntityGraph;
 
 @Repository
-public interface ComplaintRepository extends JpaRepository<Complaint, Long> {
-    List<Complaint> findByUser(User user);
+public interface ComplaintRepository extends JpaRepository<Complaint, Long>, ComplaintRepositoryCustom {
+    // List reads load user, department and municipality in the same select (see Complaint.DETAIL_GRAPH)
+    @Override
+    @EntityGraph(Complaint.DETAIL_GRAPH)
+    List<Complaint> findAll();
 
+    @EntityGraph(Complaint.DETAIL_GRAPH)
     List<Complaint> findByAssignedDepartment(Department department);
 
+    @EntityGraph(Complaint.DETAIL_GRAPH)
     List<Complaint> findByStatus(ComplaintStatus status);
 
+    @EntityGraph(Complaint.DETAIL_GRAPH)
     List<Complaint> findByAssignedDepartmentAndStatus(Department department, ComplaintStatus status);
 
+    @EntityGraph(Complaint.DETAIL_GRAPH)
     List<Complaint> findByMunicipality(Municipality municipality);
 
+    @EntityGraph(Complaint.DETAIL_GRAPH)
+    List<Complaint> findByIdIn(Collection<Long> ids);
+
     long countByAssignedDepartment(Department department);
 
     long countByAssignedDepartmentAndStatus(Department department, ComplaintStatus status);
@@ -30,4 +47,45 @@ public interface ComplaintRepository extends JpaRepository<Complaint, Long> {
     long countByMunicipality(Municipality municipality);
 
     long countByMunicipalityAndStatus(Municipality municipality, ComplaintStatus status);
+
+    // LIKE 'prefix%' on the indexed geohash column is served by an index range scan; the box
+    // trims the parts of the cell that lie outside the search radius before rows are returned
+    @Query("select new com.complaint.redressal.payload.NearbyComplaint(c.id, c.title, c.category, c.status, "
+            + "c.latitude, c.longitude, c.address, c.cityName, c.createdAt) "
+            + "from Complaint c where c.geohash like concat(:prefix, '%') "
+            + "and c.latitude between :minLat and :maxLat and c.longitude between :minLon and :maxLon "
+            + "and (:category is null or c.category = :category)")
+    List<NearbyComplaint> findNearbyCandidates(@Param("prefix") String prefix,
+            @Param("minLat") double minLat, @Param("maxLat") double maxLat,
+            @Param("minLon") double minLon, @Param("maxLon") double maxLon,
+            @Param("category") ComplaintCategory category);
+
+    // id, latitude, longitude of rows still missing a geohash, in id order from afterId
+    @Query("select c.id, c.latitude, c.longitude from Complaint c where c.geohash is null "
+            + "and c.latitude is not null and c.longitude is not null and c.id > :afterId order by c.id")
+    List<Object[]> findMissingGeohashes(@Param("afterId") long afterId, Pageable pageable);
+
+    // id, category, latitude, longitude, createdAt of complaints in the statuses created after createdAt,
+    // in id order from afterId
+    @Query("select c.id, c.category, c.latitude, c.longitude, c.createdAt from Complaint c "
+            + "where c.status in :statuses and c.createdAt > :createdAt and c.id > :afterId order by c.id")
+    List<Object[]> findDuplicateCandidates(@Param("statuses") Collection<ComplaintStatus> statuses,
+            @Param("createdAt") Timestamp createdAt, @Param("afterId") long afterId, Pageable pageable);
+
+    // id, latitude, longitude, status, category, municipality id, in id order from afterId
+    @Query("select c.id, c.latitude, c.longitude, c.status, c.category, m.id from Complaint c "
+            + "left join c.municipality m where c.latitude is not null and c.longitude is not null "
+            + "and c.id > :afterId order by c.id")
+    List<Object[]> findHeatmapPoints(@Param("afterId") long afterId, Pageable pageable);
+
+    // municipality id, department id, category, status, count
+    @Query("select m.id, d.id, c.category, c.status, count(c) from Complaint c "
+            + "left join c.municipality m left join c.assignedDepartment d "
+            + "group by m.id, d.id, c.category, c.status")
+    List<Object[]> countByMunicipalityDepartmentCategoryAndStatus();
+
+    // id, title, description, address, category, status, municipality id, in id order from afterId
+    @Query("select c.id, c.title, c.description, c.address, c.category, c.status, m.id from Complaint c "
+            + "left join c.municipality m where c.id > :afterId order by c.id")
+    List<Object[]> findSearchDocuments(@Param("afterId") long afterId, Pageable pageable);
 }
@@ -0,0 +1,11 @@
+package com.complaint.redressal.repository;
+
+import com.complaint.redressal.model.Complaint;
+import com.complaint.redressal.payload.ComplaintPageQuery;
+
+import java.util.List;
+
+public interface ComplaintRepositoryCustom {
+    // Newest first by (createdAt, id); returns at most query.limit rows
+    List<Complaint> findPage(ComplaintPageQuery query);
+}
@@ -0,0 +1,65 @@
+package com.complaint.redressal.repository;
+
+import com.complaint.redressal.model.Complaint;
+import com.complaint.redressal.payload.ComplaintPageQuery;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ComplaintRepositoryImpl implements ComplaintRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Complaint> findPage(ComplaintPageQuery query) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Complaint> cq = cb.createQuery(Complaint.class);
+        Root<Complaint> root = cq.from(Complaint.class);
+        Path<Timestamp> createdAt = root.get("createdAt");
+        Path<Long> id = root.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (query.getMunicipalityId() != null) {
+            predicates.add(cb.equal(root.get("municipality").get("id"), query.getMunicipalityId()));
+        }
+        if (query.getUserId() != null) {
+            predicates.add(cb.equal(root.get("user").get("id"), query.getUserId()));
+        }
+        if (query.getStatus() != null) {
+            predicates.add(cb.equal(root.get("status"), query.getStatus()));
+        }
+        if (query.getCategory() != null) {
+            predicates.add(cb.equal(root.get("category"), query.getCategory()));
+        }
+        if (query.getCreatedFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(createdAt, query.getCreatedFrom()));
+        }
+        if (query.getCreatedTo() != null) {
+            predicates.add(cb.lessThan(createdAt, query.getCreatedTo()));
+        }
+        if (query.getCursorCreatedAt() != null && query.getCursorId() != null) {
+            // Row-value comparison (createdAt, id) < (cursorCreatedAt, cursorId), written out for JPQL
+            predicates.add(cb.or(
+                    cb.lessThan(createdAt, query.getCursorCreatedAt()),
+                    cb.and(cb.equal(createdAt, query.getCursorCreatedAt()), cb.lessThan(id, query.getCursorId()))));
+        }
+
+        cq.select(root)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(createdAt), cb.desc(id));
+
+        return entityManager.createQuery(cq)
+                .setHint("javax.persistence.fetchgraph", entityManager.getEntityGraph(Complaint.DETAIL_GRAPH))
+                .setMaxResults(query.getLimit())
+                .getResultList();
+    }
+}
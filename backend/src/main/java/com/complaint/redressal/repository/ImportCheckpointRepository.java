@@ -0,0 +1,21 @@
+package com.complaint.redressal.repository;
+
+import com.complaint.redressal.model.ImportCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+
+@Repository
+public interface ImportCheckpointRepository extends JpaRepository<ImportCheckpoint, String> {
+    @Modifying
+    @Query(value = "insert into import_checkpoints (job_id, rows_done, imported, failed, updated_at) "
+            + "values (:jobId, :rows, :imported, :failed, :now) "
+            + "on duplicate key update rows_done = rows_done + :rows, imported = imported + :imported, "
+            + "failed = failed + :failed, updated_at = :now", nativeQuery = true)
+    void advance(@Param("jobId") String jobId, @Param("rows") long rows, @Param("imported") long imported,
+            @Param("failed") long failed, @Param("now") Timestamp now);
+}
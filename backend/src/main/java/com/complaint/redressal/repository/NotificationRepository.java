@@ -2,6 +2,7 @@ package com.complaint.redressal.repository;
 
 import com.complaint.redressal.model.Admin;
 import com.complaint.redressal.model.Notification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,6 +10,8 @@ import java.util.List;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
+    @EntityGraph(attributePaths = { "sender.department", "sender.municipality", "receiver.department",
+            "receiver.municipality" })
     List<Notification> findByReceiverOrderByCreatedAtDesc(Admin receiver);
 
     List<Notification> findByReceiverAndIsReadFalse(Admin receiver);
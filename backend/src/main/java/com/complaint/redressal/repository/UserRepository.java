@@ -1,9 +1,13 @@
 package com.complaint.redressal.repository;
 
 import com.complaint.redressal.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +15,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     Boolean existsByUsername(String username);
     Boolean existsByEmail(String email);
+
+    @Query("select u.tokenVersion from User u where u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") Long id);
+
+    // username, id
+    @Query("select u.username, u.id from User u")
+    List<Object[]> findAllUsernamesAndIds();
+
+    // id, username, email of users inserted after the given id, in id order
+    @Query("select u.id, u.username, u.email from User u where u.id > :afterId order by u.id")
+    List<Object[]> findNamesAfterId(@Param("afterId") Long afterId, Pageable pageable);
 }
@@ -0,0 +1,62 @@
+package com.complaint.redressal.security;
+
+import com.complaint.redressal.model.Admin;
+import com.complaint.redressal.model.User;
+import com.complaint.redressal.security.services.AccountDirectory;
+import com.complaint.redressal.security.services.UserDetailsImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Resolves @CurrentAdmin and @CurrentUser parameters from the authenticated
+ * principal through the AccountDirectory. The account is kept as a request
+ * attribute, so the caller is looked up at most once per request. Arguments
+ * are resolved before @PreAuthorize runs, so a caller of the wrong kind gets
+ * the same access-denied error the method check would have raised.
+ */
+@Component
+public class CurrentAccountArgumentResolver implements HandlerMethodArgumentResolver {
+    private static final String ADMIN_ATTRIBUTE = CurrentAccountArgumentResolver.class.getName() + ".admin";
+    private static final String USER_ATTRIBUTE = CurrentAccountArgumentResolver.class.getName() + ".user";
+
+    @Autowired
+    private AccountDirectory accountDirectory;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return (parameter.hasParameterAnnotation(CurrentAdmin.class) && parameter.getParameterType() == Admin.class)
+                || (parameter.hasParameterAnnotation(CurrentUser.class) && parameter.getParameterType() == User.class);
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+            NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        boolean admin = parameter.getParameterType() == Admin.class;
+        String attribute = admin ? ADMIN_ATTRIBUTE : USER_ATTRIBUTE;
+        Object account = webRequest.getAttribute(attribute, RequestAttributes.SCOPE_REQUEST);
+        if (account != null) {
+            return account;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserDetailsImpl)
+                || ((UserDetailsImpl) authentication.getPrincipal()).isAdmin() != admin) {
+            throw new AccessDeniedException("Access is denied");
+        }
+        UserDetailsImpl principal = (UserDetailsImpl) authentication.getPrincipal();
+        account = admin
+                ? accountDirectory.findAdmin(principal).orElseThrow(() -> new RuntimeException("Admin not found"))
+                : accountDirectory.findUser(principal).orElseThrow(() -> new RuntimeException("User not found"));
+        webRequest.setAttribute(attribute, account, RequestAttributes.SCOPE_REQUEST);
+        return account;
+    }
+}
@@ -0,0 +1,17 @@
+package com.complaint.redressal.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Binds a controller parameter of type Admin to the authenticated admin, resolved
+ * once per request by CurrentAccountArgumentResolver.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentAdmin {
+}
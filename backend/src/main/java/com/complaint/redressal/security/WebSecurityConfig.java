@@ -1,9 +1,15 @@
 package com.complaint.redressal.security;
 
+import com.complaint.redressal.ratelimit.ConcurrencyLimitFilter;
+import com.complaint.redressal.ratelimit.ConcurrencyLimitProperties;
+import com.complaint.redressal.ratelimit.RateLimitFilter;
+import com.complaint.redressal.ratelimit.RateLimitProperties;
 import com.complaint.redressal.security.jwt.AuthEntryPointJwt;
 import com.complaint.redressal.security.jwt.AuthTokenFilter;
 import com.complaint.redressal.security.services.UserDetailsServiceImpl;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -24,6 +30,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
         // securedEnabled = true,
         // jsr250Enabled = true,
         prePostEnabled = true)
+@EnableConfigurationProperties({ RateLimitProperties.class, ConcurrencyLimitProperties.class })
 public class WebSecurityConfig {
     @Autowired
     UserDetailsServiceImpl userDetailsService;
@@ -31,16 +38,31 @@ public class WebSecurityConfig {
     @Autowired
     private AuthEntryPointJwt unauthorizedHandler;
 
+    @Value("${app.auth.bcryptStrength:10}")
+    private int bcryptStrength;
+
     @Bean
     public AuthTokenFilter authenticationJwtTokenFilter() {
         return new AuthTokenFilter();
     }
 
+    @Bean
+    public ConcurrencyLimitFilter concurrencyLimitFilter() {
+        return new ConcurrencyLimitFilter();
+    }
+
+    @Bean
+    public RateLimitFilter rateLimitFilter() {
+        return new RateLimitFilter();
+    }
+
     @Bean
     public DaoAuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Rehashes on login when passwordEncoder().upgradeEncoding says the stored cost is stale
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
 
@@ -51,7 +73,27 @@ public class WebSecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength) {
+            // BCrypt only upgrades weaker hashes; rehash on any difference so lowering the cost also applies
+            @Override
+            public boolean upgradeEncoding(String encodedPassword) {
+                int cost = bcryptCost(encodedPassword);
+                return cost > 0 && cost != bcryptStrength;
+            }
+        };
+    }
+
+    // "$2a$10$..." -> 10; 0 when the hash is not BCrypt
+    private static int bcryptCost(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$'
+                || encodedPassword.charAt(3) != '$' || encodedPassword.charAt(6) != '$') {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
     }
 
     @Bean
@@ -68,6 +110,10 @@ public class WebSecurityConfig {
         http.authenticationProvider(authenticationProvider());
 
         http.addFilterBefore(authenticationJwtTokenFilter(), UsernamePasswordAuthenticationFilter.class);
+        // Sheds load before any token is parsed; after CorsFilter, so a 503 is readable by the browser
+        http.addFilterBefore(concurrencyLimitFilter(), AuthTokenFilter.class);
+        // After the JWT filter so authenticated callers are limited per principal
+        http.addFilterAfter(rateLimitFilter(), AuthTokenFilter.class);
 
         return http.build();
     }
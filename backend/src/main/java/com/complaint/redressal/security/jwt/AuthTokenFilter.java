@@ -1,12 +1,12 @@
 package com.complaint.redressal.security.jwt;
 
-import com.complaint.redressal.security.services.UserDetailsServiceImpl;
+import com.complaint.redressal.security.services.TokenVersionCache;
+import com.complaint.redressal.security.services.UserDetailsImpl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -22,7 +22,7 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     private JwtUtils jwtUtils;
 
     @Autowired
-    private UserDetailsServiceImpl userDetailsService;
+    private TokenVersionCache tokenVersionCache;
 
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
@@ -31,10 +31,10 @@ public class AuthTokenFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            // A verified-token cache hit, or else one parse, yields the principal; null when invalid
+            UserDetailsImpl userDetails = jwt != null ? jwtUtils.getUserDetailsFromJwtToken(jwt) : null;
+            // Only the token version is checked against the database (cached)
+            if (userDetails != null && tokenVersionCache.isCurrent(userDetails)) {
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
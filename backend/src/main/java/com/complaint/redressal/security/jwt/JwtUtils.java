@@ -1,6 +1,7 @@
 package com.complaint.redressal.security.jwt;
 
 import com.complaint.redressal.security.services.UserDetailsImpl;
+import com.complaint.redressal.util.StripedLruCache;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -8,62 +9,171 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
 
 @Component
 public class JwtUtils {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
+    // Principal claims; the subject stays the username
+    private static final String CLAIM_ID = "id";
+    private static final String CLAIM_ROLES = "roles";
+    private static final String CLAIM_DEPARTMENT = "departmentId";
+    private static final String CLAIM_MUNICIPALITY = "municipalityId";
+    private static final String CLAIM_PASSWORD_CHANGED = "passwordChanged";
+    private static final String CLAIM_VERSION = "tokenVersion";
+
     @Value("${app.jwtSecret}")
     private String jwtSecret;
 
     @Value("${app.jwtExpirationMs}")
     private int jwtExpirationMs;
 
+    @Value("${app.jwt.verifiedCacheSize:10000}")
+    private int verifiedCacheSize;
+
+    @Value("${app.jwt.verifiedCacheStripes:16}")
+    private int verifiedCacheStripes;
+
+    // Key and parser are immutable and thread-safe, so they are built once
+    private Key key;
+    private JwtParser parser;
+
+    // SHA-256 of tokens that already passed verification, so the raw bearer
+    // tokens are not kept on the heap. Striped, because every request reads it.
+    private StripedLruCache<String, Verified> verified;
+
+    @PostConstruct
+    public void init() {
+        key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        parser = Jwts.parserBuilder().setSigningKey(key).build();
+        verified = new StripedLruCache<>(verifiedCacheSize, verifiedCacheStripes);
+    }
+
     public String generateJwtToken(Authentication authentication) {
         UserDetailsImpl userPrincipal = (UserDetailsImpl) authentication.getPrincipal();
 
         return Jwts.builder()
                 .setSubject((userPrincipal.getUsername()))
+                .claim(CLAIM_ID, userPrincipal.getId())
+                .claim(CLAIM_ROLES, userPrincipal.getAuthorities().stream()
+                        .map(GrantedAuthority::getAuthority)
+                        .collect(Collectors.toList()))
+                .claim(CLAIM_DEPARTMENT, userPrincipal.getDepartmentId())
+                .claim(CLAIM_MUNICIPALITY, userPrincipal.getMunicipalityId())
+                .claim(CLAIM_PASSWORD_CHANGED, userPrincipal.isPasswordChanged())
+                .claim(CLAIM_VERSION, userPrincipal.getTokenVersion())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(key(), SignatureAlgorithm.HS256)
+                .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    private Key key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret)); // Use BASE64 if secret is encoded, otherwise
-                                                                      // .getBytes()
-        // Ideally enforce Strong keys. For now assuming secret is strong enough string.
-        // Actually, let's use simple bytes if the secret is just a string, but the
-        // modern jjwt prefers keys.
-        // If the property has a plain text, converting to bytes is safer.
-        // Let's assume plain text for simplicity and use
-        // Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-    }
-
-    public String getUserNameFromJwtToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(key()).build()
-                .parseClaimsJws(token).getBody().getSubject();
-    }
+    /**
+     * Verifies the token and rebuilds the principal from the signed claims in a
+     * single parse; a token seen before is served from the verified cache until
+     * it expires. Returns null for invalid tokens and for tokens issued before
+     * the claims existed, which forces a new login.
+     */
+    public UserDetailsImpl getUserDetailsFromJwtToken(String token) {
+        String digest = digest(token);
+        Verified hit = verified.get(digest);
+        if (hit != null) {
+            if (System.currentTimeMillis() < hit.expiresAt) {
+                return hit.principal;
+            }
+            // The signature was good, so parsing again would only report the expiry
+            verified.remove(digest);
+            logger.error("JWT token is expired");
+            return null;
+        }
 
-    public boolean validateJwtToken(String authToken) {
+        Claims claims;
         try {
-            Jwts.parserBuilder().setSigningKey(key()).build().parse(authToken);
-            return true;
-        } catch (MalformedJwtException e) {
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (MalformedJwtException | SignatureException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
+            return null;
         } catch (ExpiredJwtException e) {
             logger.error("JWT token is expired: {}", e.getMessage());
+            return null;
         } catch (UnsupportedJwtException e) {
             logger.error("JWT token is unsupported: {}", e.getMessage());
+            return null;
         } catch (IllegalArgumentException e) {
             logger.error("JWT claims string is empty: {}", e.getMessage());
+            return null;
+        }
+
+        UserDetailsImpl principal = toPrincipal(claims);
+        if (principal != null && claims.getExpiration() != null) {
+            verified.put(digest, new Verified(principal, claims.getExpiration().getTime()));
+        }
+        return principal;
+    }
+
+    private static UserDetailsImpl toPrincipal(Claims claims) {
+        Number id = claims.get(CLAIM_ID, Number.class);
+        List<?> roles = claims.get(CLAIM_ROLES, List.class);
+        if (id == null || roles == null) {
+            return null;
+        }
+        List<GrantedAuthority> authorities = roles.stream()
+                .map(role -> new SimpleGrantedAuthority(role.toString()))
+                .collect(Collectors.toList());
+        Number departmentId = claims.get(CLAIM_DEPARTMENT, Number.class);
+        Number municipalityId = claims.get(CLAIM_MUNICIPALITY, Number.class);
+        Boolean passwordChanged = claims.get(CLAIM_PASSWORD_CHANGED, Boolean.class);
+        Number version = claims.get(CLAIM_VERSION, Number.class);
+
+        return new UserDetailsImpl(
+                id.longValue(),
+                claims.getSubject(),
+                null,
+                null,
+                authorities,
+                departmentId != null ? departmentId.longValue() : null,
+                municipalityId != null ? municipalityId.longValue() : null,
+                passwordChanged == null || passwordChanged,
+                version != null ? version.intValue() : 0);
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // Every JRE ships SHA-256
         }
+    }
+
+    public long getVerifiedCacheHits() {
+        return verified.getHits();
+    }
 
-        return false;
+    public long getVerifiedCacheMisses() {
+        return verified.getMisses();
+    }
+
+    private static class Verified {
+        final UserDetailsImpl principal;
+        final long expiresAt;
+
+        Verified(UserDetailsImpl principal, long expiresAt) {
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+        }
     }
 }
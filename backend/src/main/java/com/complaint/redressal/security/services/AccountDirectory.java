@@ -0,0 +1,119 @@
+package com.complaint.redressal.security.services;
+
+import com.complaint.redressal.model.Admin;
+import com.complaint.redressal.model.User;
+import com.complaint.redressal.repository.AdminRepository;
+import com.complaint.redressal.repository.UserRepository;
+import com.complaint.redressal.util.LruCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.Optional;
+
+/**
+ * Bounded directory of Admin and User snapshots for authenticated callers, so
+ * controllers do not reload the caller's account on every request. A snapshot
+ * is only served to a principal carrying the same token version; any change
+ * that bumps the version (password change, admin update) therefore misses even
+ * on instances that never saw the eviction. Callers get a detached copy they
+ * may read freely; writes must still go through the repository.
+ */
+@Service
+public class AccountDirectory {
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${app.accounts.cacheSize:10000}")
+    private int maxSize;
+
+    private LruCache<Long, Admin> admins;
+    private LruCache<Long, User> users;
+
+    @PostConstruct
+    public void init() {
+        admins = new LruCache<>(maxSize);
+        users = new LruCache<>(maxSize);
+    }
+
+    public Optional<Admin> findAdmin(UserDetailsImpl principal) {
+        if (!principal.isAdmin()) {
+            return Optional.empty();
+        }
+        Admin admin = admins.get(principal.getId());
+        if (admin == null || admin.getTokenVersion() != principal.getTokenVersion()) {
+            admin = adminRepository.findById(principal.getId()).orElse(null);
+            if (admin == null) {
+                admins.remove(principal.getId());
+                return Optional.empty();
+            }
+            admins.put(admin.getId(), copyOf(admin));
+        }
+        return Optional.of(copyOf(admin));
+    }
+
+    public Optional<User> findUser(UserDetailsImpl principal) {
+        if (principal.isAdmin()) {
+            return Optional.empty();
+        }
+        User user = users.get(principal.getId());
+        if (user == null || user.getTokenVersion() != principal.getTokenVersion()) {
+            user = userRepository.findById(principal.getId()).orElse(null);
+            if (user == null) {
+                users.remove(principal.getId());
+                return Optional.empty();
+            }
+            users.put(user.getId(), copyOf(user));
+        }
+        return Optional.of(copyOf(user));
+    }
+
+    // Call after the change is committed
+    public void evictAdmin(Long id) {
+        admins.remove(id);
+    }
+
+    public void evictUser(Long id) {
+        users.remove(id);
+    }
+
+    public long getHits() {
+        return admins.getHits() + users.getHits();
+    }
+
+    public long getMisses() {
+        return admins.getMisses() + users.getMisses();
+    }
+
+    // Department and municipality are eagerly loaded reference data and are shared, not copied
+    private static Admin copyOf(Admin source) {
+        Admin admin = new Admin();
+        admin.setId(source.getId());
+        admin.setUsername(source.getUsername());
+        admin.setPassword(source.getPassword());
+        admin.setPasswordChanged(source.isPasswordChanged());
+        admin.setForcePasswordChange(source.isForcePasswordChange());
+        admin.setTokenVersion(source.getTokenVersion());
+        admin.setRole(source.getRole());
+        admin.setStatus(source.getStatus());
+        admin.setDepartment(source.getDepartment());
+        admin.setMunicipality(source.getMunicipality());
+        return admin;
+    }
+
+    private static User copyOf(User source) {
+        User user = new User();
+        user.setId(source.getId());
+        user.setUsername(source.getUsername());
+        user.setPassword(source.getPassword());
+        user.setFullName(source.getFullName());
+        user.setMobile(source.getMobile());
+        user.setEmail(source.getEmail());
+        user.setTokenVersion(source.getTokenVersion());
+        return user;
+    }
+}
@@ -0,0 +1,53 @@
+package com.complaint.redressal.security.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Small dedicated pool for sign-ins, which are dominated by BCrypt. Logins are
+ * answered asynchronously, so Tomcat threads stay free for complaint traffic
+ * while hashes are checked. The queue is bounded and a full queue rejects at
+ * once: a caller would rather retry than wait behind seconds of hashing.
+ */
+@Service
+public class LoginExecutor {
+    @Value("${app.auth.loginThreads:0}")
+    private int threads;
+
+    @Value("${app.auth.loginQueueCapacity:64}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "login-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // Throws RejectedExecutionException when the queue is full
+    public <T> CompletableFuture<T> submit(Supplier<T> task) throws RejectedExecutionException {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,111 @@
+package com.complaint.redressal.security.services;
+
+import com.complaint.redressal.repository.UserRepository;
+import com.complaint.redressal.util.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Bloom filters of taken user names and emails, so registration can skip its
+ * existence checks for names no user has. Only registration consults them: a
+ * negative answer can be stale (an account created on another instance since
+ * the last refresh), which registration tolerates because the unique
+ * constraints are the final arbiter, but a login must never be refused on it.
+ * Seeded once the application is ready and fed by every insert on this
+ * instance; until the seed has run every name counts as possibly taken. A
+ * "possibly taken" answer is always confirmed against the database. Values are
+ * lower-cased because the MySQL collation compares case-insensitively.
+ */
+@Service
+public class TakenNameFilter {
+    private static final Logger logger = LoggerFactory.getLogger(TakenNameFilter.class);
+
+    private static final long ID_LOOKBACK = 100;
+    private static final int BATCH_SIZE = 1000;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${app.accounts.bloomExpectedUsers:1000000}")
+    private long expectedUsers;
+
+    @Value("${app.accounts.bloomFalsePositiveRate:0.01}")
+    private double falsePositiveRate;
+
+    private BloomFilter usernames;
+    private BloomFilter emails;
+    private volatile boolean seeded;
+    private long lastUserId; // Guarded by catchUp's lock
+
+    @PostConstruct
+    public void init() {
+        usernames = new BloomFilter(expectedUsers, falsePositiveRate);
+        emails = new BloomFilter(expectedUsers, falsePositiveRate);
+    }
+
+    // Inserts made while the seed query runs are added directly, so none are lost
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        long start = System.currentTimeMillis();
+        int users = catchUp();
+        seeded = true;
+        logger.info("Taken-name filters seeded with {} users in {} ms", users, System.currentTimeMillis() - start);
+    }
+
+    @Scheduled(fixedDelayString = "${app.accounts.bloomRefreshMs:5000}")
+    public void refresh() {
+        if (seeded) {
+            catchUp();
+        }
+    }
+
+    // Reads in id-ordered batches, so seeding a large user table never holds more than one batch
+    private synchronized int catchUp() {
+        // Re-reads a few ids below the watermark: a lower id may commit after a higher one
+        long afterId = Math.max(0, lastUserId - ID_LOOKBACK);
+        int total = 0;
+        List<Object[]> batch;
+        do {
+            batch = userRepository.findNamesAfterId(afterId, PageRequest.of(0, BATCH_SIZE));
+            for (Object[] row : batch) {
+                addUser((String) row[1], (String) row[2]);
+                afterId = (Long) row[0];
+            }
+            lastUserId = Math.max(lastUserId, afterId);
+            total += batch.size();
+        } while (batch.size() == BATCH_SIZE);
+        return total;
+    }
+
+    public boolean mightBeTakenUsername(String username) {
+        return !seeded || (username != null && usernames.mightContain(normalize(username)));
+    }
+
+    public boolean mightBeTakenEmail(String email) {
+        return !seeded || (email != null && emails.mightContain(normalize(email)));
+    }
+
+    public void addUser(String username, String email) {
+        if (username != null) {
+            usernames.add(normalize(username));
+        }
+        if (email != null) {
+            emails.add(normalize(email));
+        }
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,74 @@
+package com.complaint.redressal.security.services;
+
+import com.complaint.redressal.repository.AdminRepository;
+import com.complaint.redressal.repository.UserRepository;
+import com.complaint.redressal.util.LruCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.Optional;
+
+/**
+ * Current token version per principal, so a JWT can be revoked (password
+ * change, admin update or delete) without loading the account on every
+ * request. Entries expire after ttlMs, which bounds how long another instance
+ * may accept a revoked token; on this instance evict() takes effect at once.
+ */
+@Service
+public class TokenVersionCache {
+    private static final int MISSING = -1; // Account deleted
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @Value("${app.jwt.versionCacheSize:10000}")
+    private int maxSize;
+
+    @Value("${app.jwt.versionCacheTtlMs:30000}")
+    private long ttlMs;
+
+    private LruCache<String, Entry> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = new LruCache<>(maxSize);
+    }
+
+    public boolean isCurrent(UserDetailsImpl principal) {
+        String key = key(principal.isAdmin(), principal.getId());
+        Entry entry = cache.get(key);
+        long now = System.currentTimeMillis();
+        if (entry == null || now - entry.loadedAt > ttlMs) {
+            Optional<Integer> version = principal.isAdmin()
+                    ? adminRepository.findTokenVersionById(principal.getId())
+                    : userRepository.findTokenVersionById(principal.getId());
+            entry = new Entry(version.orElse(MISSING), now);
+            cache.put(key, entry);
+        }
+        return entry.version == principal.getTokenVersion();
+    }
+
+    // Call after the new version (or the deletion) is committed
+    public void evict(boolean admin, Long id) {
+        cache.remove(key(admin, id));
+    }
+
+    private static String key(boolean admin, Long id) {
+        return (admin ? "admin:" : "user:") + id;
+    }
+
+    private static class Entry {
+        final int version;
+        final long loadedAt;
+
+        Entry(int version, long loadedAt) {
+            this.version = version;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -31,9 +31,11 @@ public class UserDetailsImpl implements UserDetails {
 
     private boolean isPasswordChanged = true; // Default true for users
 
+    private int tokenVersion;
+
     public UserDetailsImpl(Long id, String username, String email, String password,
             Collection<? extends GrantedAuthority> authorities, Long departmentId, Long municipalityId,
-            boolean isPasswordChanged) {
+            boolean isPasswordChanged, int tokenVersion) {
         this.id = id;
         this.username = username;
         this.email = email;
@@ -42,6 +44,7 @@ public class UserDetailsImpl implements UserDetails {
         this.departmentId = departmentId;
         this.municipalityId = municipalityId;
         this.isPasswordChanged = isPasswordChanged;
+        this.tokenVersion = tokenVersion;
     }
 
     public static UserDetailsImpl build(User user) {
@@ -56,7 +59,8 @@ public class UserDetailsImpl implements UserDetails {
                 authorities,
                 null,
                 null,
-                true);
+                true,
+                user.getTokenVersion());
     }
 
     public static UserDetailsImpl build(Admin admin) {
@@ -85,7 +89,8 @@ public class UserDetailsImpl implements UserDetails {
                 authorities,
                 deptId,
                 munId,
-                admin.isPasswordChanged());
+                admin.isPasswordChanged(),
+                admin.getTokenVersion());
     }
 
     @Override
@@ -113,6 +118,15 @@ public class UserDetailsImpl implements UserDetails {
         return isPasswordChanged;
     }
 
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    // Admins and users have separate id spaces
+    public boolean isAdmin() {
+        return authorities.stream().anyMatch(a -> Admin.ROLE_ADMIN.equals(a.getAuthority()));
+    }
+
     @Override
     public String getPassword() {
         return password;
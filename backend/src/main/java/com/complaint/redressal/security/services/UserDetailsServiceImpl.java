@@ -6,6 +6,7 @@ import com.complaint.redressal.repository.AdminRepository;
 import com.complaint.redressal.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -14,13 +15,16 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.Optional;
 
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
     @Autowired
     UserRepository userRepository;
 
     @Autowired
     AdminRepository adminRepository;
 
+    @Autowired
+    AccountDirectory accountDirectory;
+
     @Override
     @Transactional
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
@@ -38,4 +42,30 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 
         throw new UsernameNotFoundException("User Not Found with username: " + username);
     }
+
+    // Called by the authentication provider after a successful login whose stored hash
+    // uses another BCrypt cost; the password itself is unchanged, so tokens stay valid
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        UserDetailsImpl principal = (UserDetailsImpl) userDetails;
+        if (principal.isAdmin()) {
+            return adminRepository.findById(principal.getId())
+                    .map(admin -> {
+                        admin.setPassword(newPassword);
+                        adminRepository.save(admin);
+                        accountDirectory.evictAdmin(admin.getId());
+                        return (UserDetails) UserDetailsImpl.build(admin);
+                    })
+                    .orElse(userDetails);
+        }
+        return userRepository.findById(principal.getId())
+                .map(user -> {
+                    user.setPassword(newPassword);
+                    userRepository.save(user);
+                    accountDirectory.evictUser(user.getId());
+                    return (UserDetails) UserDetailsImpl.build(user);
+                })
+                .orElse(userDetails);
+    }
 }
@@ -0,0 +1,120 @@
+package com.complaint.redressal.service;
+
+import com.complaint.redressal.model.Admin;
+import com.complaint.redressal.model.ComplaintCounter;
+import com.complaint.redressal.model.ComplaintStatus;
+import com.complaint.redressal.payload.AdminWorkStatus;
+import com.complaint.redressal.repository.AdminRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Workload per admin for the Supervision page. Counts are rolled up from the
+ * materialised complaint counters and joined to the admin list in memory; the
+ * result is optionally cached for a short TTL.
+ */
+@Service
+public class AdminWorkStatusService {
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @Autowired
+    private ComplaintCounterService complaintCounterService;
+
+    // 0 disables caching
+    @Value("${app.adminStatus.cacheTtlMs:5000}")
+    private long cacheTtlMs;
+
+    private volatile Snapshot snapshot;
+
+    @Transactional(readOnly = true)
+    public List<AdminWorkStatus> getAdminWorkStatus() {
+        Snapshot current = snapshot;
+        if (current != null && System.currentTimeMillis() - current.createdAt < cacheTtlMs) {
+            return current.statuses;
+        }
+        List<AdminWorkStatus> statuses = compute();
+        snapshot = new Snapshot(statuses, System.currentTimeMillis());
+        return statuses;
+    }
+
+    public void invalidate() {
+        snapshot = null;
+    }
+
+    private List<AdminWorkStatus> compute() {
+        Map<Long, Counts> byDepartment = new HashMap<>();
+        Map<Long, Counts> byMunicipality = new HashMap<>();
+        for (ComplaintCounter counter : complaintCounterService.getCounters()) {
+            long count = counter.getComplaintCount();
+            if (counter.getDepartmentId() != ComplaintCounter.NONE) {
+                byDepartment.computeIfAbsent(counter.getDepartmentId(), k -> new Counts())
+                        .add(counter.getStatus(), count);
+            }
+            if (counter.getMunicipalityId() != ComplaintCounter.NONE) {
+                byMunicipality.computeIfAbsent(counter.getMunicipalityId(), k -> new Counts())
+                        .add(counter.getStatus(), count);
+            }
+        }
+
+        List<AdminWorkStatus> statuses = new ArrayList<>();
+        for (Admin admin : adminRepository.findAll()) {
+            // Department scope wins over municipality scope; super admins report zeros
+            Counts counts = null;
+            if (admin.getDepartment() != null) {
+                counts = byDepartment.get(admin.getDepartment().getId());
+            } else if (admin.getMunicipality() != null) {
+                counts = byMunicipality.get(admin.getMunicipality().getId());
+            }
+            if (counts == null) {
+                counts = new Counts();
+            }
+
+            String deptName = (admin.getDepartment() != null) ? admin.getDepartment().getName() : null;
+            String muniName = (admin.getMunicipality() != null) ? admin.getMunicipality().getName() : null;
+
+            statuses.add(new AdminWorkStatus(
+                    admin.getId(),
+                    admin.getUsername(),
+                    deptName,
+                    muniName,
+                    counts.total,
+                    counts.pending,
+                    counts.resolved));
+        }
+        return statuses;
+    }
+
+    private static class Counts {
+        long total;
+        long pending;
+        long resolved;
+
+        void add(ComplaintStatus status, long count) {
+            total += count;
+            if (status == ComplaintStatus.PENDING) {
+                pending += count;
+            } else if (status == ComplaintStatus.COMPLETED) {
+                resolved += count;
+            }
+        }
+    }
+
+    private static class Snapshot {
+        final List<AdminWorkStatus> statuses;
+        final long createdAt;
+
+        Snapshot(List<AdminWorkStatus> statuses, long createdAt) {
+            this.statuses = statuses;
+            this.createdAt = createdAt;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.complaint.redressal.service;
+
+import com.complaint.redressal.model.ArchivedComplaint;
+import com.complaint.redressal.model.Complaint;
+import com.complaint.redressal.model.ComplaintCategory;
+import com.complaint.redressal.model.ComplaintChangedEvent;
+import com.complaint.redressal.model.ComplaintStatus;
+import com.complaint.redressal.repository.ArchivedComplaintRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Moves closed complaints (COMPLETED, REJECTED) that have not changed for
+ * minAgeDays, together with their status history, into complaints_archive and
+ * status_history_archive. Candidates are read one status at a time in
+ * (updated_at, id) order, which is a range scan of idx_complaints_status_updated,
+ * without taking locks. Each chunk is then its own short transaction: the
+ * candidate rows are locked by primary key, rechecked, copied with
+ * insert ... select and deleted from the hot tables, so dashboards only ever
+ * scan open and recently closed complaints.
+ * Archived complaints keep their ids and are still served by getComplaint.
+ */
+@Service
+public class ComplaintArchiveService {
+    private static final Logger logger = LoggerFactory.getLogger(ComplaintArchiveService.class);
+
+    private static final String COMPLAINT_COLUMNS = "id, title, description, category, status, latitude, "
+            + "longitude, address, geohash, image_url, user_id, assigned_department_id, municipality_id, city_name, "
+            + "duplicate_of_id, created_at, updated_at";
+    private static final String HISTORY_COLUMNS = "id, complaint_id, status, remarks, updated_by_admin_id, timestamp";
+    private static final List<ComplaintStatus> CLOSED_STATUSES = Arrays.asList(ComplaintStatus.COMPLETED,
+            ComplaintStatus.REJECTED);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ArchivedComplaintRepository archivedComplaintRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.archive.minAgeDays:180}")
+    private int minAgeDays;
+
+    @Value("${app.archive.chunkSize:500}")
+    private int chunkSize;
+
+    @Value("${app.archive.pauseMs:200}")
+    private long pauseMs;
+
+    @Scheduled(cron = "${app.archive.cron:0 0 4 * * *}")
+    public void scheduledArchive() {
+        if (enabled) {
+            archive();
+        }
+    }
+
+    // Runs chunks until nothing is left; the pause leaves room for foreground traffic
+    public synchronized long archive() {
+        Timestamp cutoff = Timestamp.from(Instant.now().minus(minAgeDays, ChronoUnit.DAYS));
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        long start = System.currentTimeMillis();
+        long total = 0;
+        for (ComplaintStatus closed : CLOSED_STATUSES) {
+            while (true) {
+                List<Long> candidates = jdbcTemplate.queryForList(
+                        "select id from complaints where status = ? and updated_at < ? "
+                                + "order by updated_at, id limit ?",
+                        Long.class, closed.name(), cutoff, chunkSize);
+                if (candidates.isEmpty()) {
+                    break;
+                }
+                Integer moved = transaction.execute(status -> archiveChunk(closed, cutoff, candidates));
+                total += moved != null ? moved : 0;
+                try {
+                    Thread.sleep(pauseMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return total;
+                }
+            }
+        }
+        if (total > 0) {
+            logger.info("Archived {} closed complaints older than {} days in {} ms", total, minAgeDays,
+                    System.currentTimeMillis() - start);
+        }
+        return total;
+    }
+
+    private int archiveChunk(ComplaintStatus closed, Timestamp cutoff, List<Long> candidates) {
+        // Locked by primary key and rechecked, so a complaint reopened since it was read is left alone
+        String candidateIn = "(" + String.join(", ", Collections.nCopies(candidates.size(), "?")) + ")";
+        List<Object> lockArgs = new ArrayList<>(candidates);
+        lockArgs.add(closed.name());
+        lockArgs.add(cutoff);
+        List<ComplaintChangedEvent> events = jdbcTemplate.query(
+                "select id, category, status, latitude, longitude, municipality_id, assigned_department_id, "
+                        + "created_at from complaints where id in " + candidateIn
+                        + " and status = ? and updated_at < ? order by id for update",
+                (rs, rowNum) -> ComplaintChangedEvent.archived(rs.getLong(1),
+                        rs.getString(2) != null ? ComplaintCategory.valueOf(rs.getString(2)) : null,
+                        ComplaintStatus.valueOf(rs.getString(3)),
+                        (Double) rs.getObject(4), (Double) rs.getObject(5),
+                        rs.getObject(6) != null ? rs.getLong(6) : null,
+                        rs.getObject(7) != null ? rs.getLong(7) : null,
+                        rs.getTimestamp(8)),
+                lockArgs.toArray());
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        List<Object> ids = new ArrayList<>();
+        for (ComplaintChangedEvent event : events) {
+            ids.add(event.getComplaintId());
+        }
+        String in = "(" + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")";
+        Object[] idArgs = ids.toArray();
+        List<Object> archiveArgs = new ArrayList<>();
+        archiveArgs.add(Timestamp.from(Instant.now()));
+        archiveArgs.addAll(ids);
+
+        jdbcTemplate.update("insert into complaints_archive (" + COMPLAINT_COLUMNS + ", archived_at) "
+                + "select " + COMPLAINT_COLUMNS + ", ? from complaints where id in " + in, archiveArgs.toArray());
+        jdbcTemplate.update("insert into status_history_archive (" + HISTORY_COLUMNS + ") "
+                + "select " + HISTORY_COLUMNS + " from status_history where complaint_id in " + in, idArgs);
+        jdbcTemplate.update("delete from status_history where complaint_id in " + in, idArgs);
+        jdbcTemplate.update("delete from complaints where id in " + in, idArgs);
+
+        // Derived views drop the complaint after commit; counters keep counting it
+        events.forEach(eventPublisher::publishEvent);
+        return events.size();
+    }
+
+    // Returned complaints are detached copies; they cannot be updated through the hot table
+    @Transactional(readOnly = true)
+    public Optional<Complaint> findArchived(Long id) {
+        return archivedComplaintRepository.findById(id).map(ComplaintArchiveService::toComplaint);
+    }
+
+    private static Complaint toComplaint(ArchivedComplaint archived) {
+        Complaint complaint = new Complaint();
+        complaint.setId(archived.getId());
+        complaint.setTitle(archived.getTitle());
+        complaint.setDescription(archived.getDescription());
+        complaint.setCategory(archived.getCategory());
+        complaint.setStatus(archived.getStatus());
+        complaint.setLatitude(archived.getLatitude());
+        complaint.setLongitude(archived.getLongitude());
+        complaint.setAddress(archived.getAddress());
+        complaint.setGeohash(archived.getGeohash());
+        complaint.setImageUrl(archived.getImageUrl());
+        complaint.setUser(archived.getUser());
+        complaint.setAssignedDepartment(archived.getAssignedDepartment());
+        complaint.setMunicipality(archived.getMunicipality());
+        complaint.setCityName(archived.getCityName());
+        complaint.setDuplicateOfId(archived.getDuplicateOfId());
+        complaint.setCreatedAt(archived.getCreatedAt());
+        complaint.setUpdatedAt(archived.getUpdatedAt());
+        return complaint;
+    }
+}
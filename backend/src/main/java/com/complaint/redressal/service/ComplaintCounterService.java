@@ -0,0 +1,222 @@
+package com.complaint.redressal.service;
+
+import com.complaint.redressal.model.ComplaintCategory;
+import com.complaint.redressal.model.ComplaintChangedEvent;
+import com.complaint.redressal.model.ComplaintCounter;
+import com.complaint.redressal.model.ComplaintStatus;
+import com.complaint.redressal.payload.ComplaintSummary;
+import com.complaint.redressal.repository.ArchivedComplaintRepository;
+import com.complaint.redressal.repository.ComplaintCounterRepository;
+import com.complaint.redressal.repository.ComplaintRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Keeps complaint_counters in step with the complaints table. Counters are
+ * adjusted inside the transaction that creates, updates or deletes a complaint
+ * (plain @EventListener runs in the publisher's transaction, and the summed
+ * deltas are written just before it commits), so summary counts
+ * become lookups over a table with one row per key instead of COUNT(*) scans.
+ */
+@Service
+public class ComplaintCounterService {
+    private static final Logger logger = LoggerFactory.getLogger(ComplaintCounterService.class);
+    private static final Comparator<CounterKey> KEY_ORDER = Comparator
+            .<CounterKey>comparingLong(k -> k.municipalityId)
+            .thenComparingLong(k -> k.departmentId)
+            .thenComparing(k -> k.category)
+            .thenComparing(k -> k.status);
+
+    @Autowired
+    private ComplaintCounterRepository counterRepository;
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    @Autowired
+    private ArchivedComplaintRepository archivedComplaintRepository;
+
+    // Deltas are summed per key and written once before commit, so a bulk update
+    // costs one upsert per touched key rather than two per complaint
+    @EventListener
+    @Transactional
+    public void onComplaintChanged(ComplaintChangedEvent event) {
+        if (event.getCategory() == null) {
+            return;
+        }
+        if (event.getPreviousStatus() == event.getStatus()) {
+            return;
+        }
+        Map<CounterKey, Long> pending = pendingDeltas();
+        long municipalityId = orNone(event.getMunicipalityId());
+        long departmentId = orNone(event.getDepartmentId());
+        if (event.getPreviousStatus() != null) {
+            pending.merge(new CounterKey(municipalityId, departmentId, event.getCategory(),
+                    event.getPreviousStatus()), -1L, Long::sum);
+        }
+        if (event.getStatus() != null) {
+            pending.merge(new CounterKey(municipalityId, departmentId, event.getCategory(), event.getStatus()),
+                    1L, Long::sum);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<CounterKey, Long> pendingDeltas() {
+        Map<CounterKey, Long> pending = (Map<CounterKey, Long>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        Map<CounterKey, Long> deltas = new HashMap<>();
+        TransactionSynchronizationManager.bindResource(this, deltas);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                applyDeltas(deltas);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResource(ComplaintCounterService.this);
+            }
+        });
+        return deltas;
+    }
+
+    // Fixed key order keeps concurrent transactions from deadlocking on counter rows
+    private void applyDeltas(Map<CounterKey, Long> deltas) {
+        List<CounterKey> keys = new ArrayList<>(deltas.keySet());
+        keys.sort(KEY_ORDER);
+        for (CounterKey key : keys) {
+            long delta = deltas.get(key);
+            if (delta != 0) {
+                counterRepository.increment(key.municipalityId, key.departmentId, key.category.name(),
+                        key.status.name(), delta);
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<ComplaintCounter> getCounters() {
+        return counterRepository.findAll();
+    }
+
+    // Null municipality means every municipality (super admin scope)
+    @Transactional(readOnly = true)
+    public ComplaintSummary getSummary(Long municipalityId) {
+        List<ComplaintCounter> counters = municipalityId == null
+                ? counterRepository.findAll()
+                : counterRepository.findByMunicipalityId(municipalityId);
+
+        long total = 0;
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        for (ComplaintStatus status : ComplaintStatus.values()) {
+            byStatus.put(status.name(), 0L);
+        }
+        Map<String, Long> byCategory = new LinkedHashMap<>();
+        for (ComplaintCategory category : ComplaintCategory.values()) {
+            byCategory.put(category.name(), 0L);
+        }
+        for (ComplaintCounter counter : counters) {
+            total += counter.getComplaintCount();
+            byStatus.merge(counter.getStatus().name(), counter.getComplaintCount(), Long::sum);
+            byCategory.merge(counter.getCategory().name(), counter.getComplaintCount(), Long::sum);
+        }
+        return new ComplaintSummary(total, byStatus, byCategory);
+    }
+
+    /**
+     * Recounts from the complaints and archive tables and applies the difference as a delta.
+     * Both sides are read from the same snapshot (InnoDB repeatable read), so
+     * increments committed while this runs are preserved rather than overwritten.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.counters.reconcileCron:0 30 3 * * *}")
+    @Transactional
+    public void reconcile() {
+        Map<CounterKey, Long> stored = new HashMap<>();
+        for (ComplaintCounter counter : counterRepository.findAll()) {
+            stored.put(new CounterKey(counter.getMunicipalityId(), counter.getDepartmentId(),
+                    counter.getCategory(), counter.getStatus()), counter.getComplaintCount());
+        }
+        Map<CounterKey, Long> actual = new HashMap<>();
+        // Archived complaints still count towards the totals
+        List<Object[]> rows = new ArrayList<>(complaintRepository.countByMunicipalityDepartmentCategoryAndStatus());
+        rows.addAll(archivedComplaintRepository.countByMunicipalityDepartmentCategoryAndStatus());
+        for (Object[] row : rows) {
+            if (row[2] == null || row[3] == null) {
+                continue;
+            }
+            actual.merge(new CounterKey(orNone((Long) row[0]), orNone((Long) row[1]),
+                    (ComplaintCategory) row[2], (ComplaintStatus) row[3]), (Long) row[4], Long::sum);
+        }
+
+        Set<CounterKey> keys = new HashSet<>(stored.keySet());
+        keys.addAll(actual.keySet());
+        int repaired = 0;
+        for (CounterKey key : keys) {
+            long delta = actual.getOrDefault(key, 0L) - stored.getOrDefault(key, 0L);
+            if (delta != 0) {
+                counterRepository.increment(key.municipalityId, key.departmentId, key.category.name(),
+                        key.status.name(), delta);
+                repaired++;
+            }
+        }
+        if (repaired > 0) {
+            logger.warn("Complaint counters reconciled: {} of {} keys had drifted", repaired, keys.size());
+        } else {
+            logger.info("Complaint counters verified ({} keys)", keys.size());
+        }
+    }
+
+    private static long orNone(Long id) {
+        return id != null ? id : ComplaintCounter.NONE;
+    }
+
+    private static class CounterKey {
+        final long municipalityId;
+        final long departmentId;
+        final ComplaintCategory category;
+        final ComplaintStatus status;
+
+        CounterKey(long municipalityId, long departmentId, ComplaintCategory category, ComplaintStatus status) {
+            this.municipalityId = municipalityId;
+            this.departmentId = departmentId;
+            this.category = category;
+            this.status = status;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof CounterKey))
+                return false;
+            CounterKey other = (CounterKey) o;
+            return municipalityId == other.municipalityId && departmentId == other.departmentId
+                    && category == other.category && status == other.status;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(municipalityId, departmentId, category, status);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.complaint.redressal.service;
+
+import com.complaint.redressal.payload.ComplaintPageQuery;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes complaints row by row straight from a JDBC cursor, so memory use does
+ * not depend on the export size. No entities are built: the query selects flat
+ * columns and each row is serialized and dropped. On MySQL the driver only
+ * streams with useCursorFetch=true on the URL plus a positive fetch size.
+ */
+@Service
+public class ComplaintExportService {
+    private static final Logger logger = LoggerFactory.getLogger(ComplaintExportService.class);
+
+    public enum Format {
+        NDJSON,
+        CSV
+    }
+
+    private static final String[] COLUMNS = { "id", "title", "description", "category", "status", "latitude",
+            "longitude", "address", "cityName", "municipalityId", "municipality", "department", "userId",
+            "duplicateOfId", "createdAt", "updatedAt" };
+
+    // createdAt and updatedAt are read with getTimestamp: Connector/J 8 returns LocalDateTime from getObject
+    private static final boolean[] TIMESTAMP_COLUMNS = new boolean[COLUMNS.length];
+
+    static {
+        for (int i = 0; i < COLUMNS.length; i++) {
+            TIMESTAMP_COLUMNS[i] = COLUMNS[i].equals("createdAt") || COLUMNS[i].equals("updatedAt");
+        }
+    }
+
+    private static final String SELECT = "select c.id, c.title, c.description, c.category, c.status, c.latitude, "
+            + "c.longitude, c.address, c.city_name, c.municipality_id, m.name, d.name, c.user_id, "
+            + "c.duplicate_of_id, c.created_at, c.updated_at "
+            + "from complaints c "
+            + "left join municipalities m on m.id = c.municipality_id "
+            + "left join departments d on d.id = c.assigned_department_id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.export.fetchSize:1000}")
+    private int fetchSize;
+
+    // Only scope and filters of the query are used; there is no paging
+    public void export(ComplaintPageQuery query, Format format, OutputStream out) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(SELECT).append(" where 1 = 1");
+        if (query.getMunicipalityId() != null) {
+            sql.append(" and c.municipality_id = ?");
+            args.add(query.getMunicipalityId());
+        }
+        if (query.getStatus() != null) {
+            sql.append(" and c.status = ?");
+            args.add(query.getStatus().name());
+        }
+        if (query.getCategory() != null) {
+            sql.append(" and c.category = ?");
+            args.add(query.getCategory().name());
+        }
+        if (query.getCreatedFrom() != null) {
+            sql.append(" and c.created_at >= ?");
+            args.add(query.getCreatedFrom());
+        }
+        if (query.getCreatedTo() != null) {
+            sql.append(" and c.created_at < ?");
+            args.add(query.getCreatedTo());
+        }
+        sql.append(" order by c.id");
+
+        RowWriter writer = format == Format.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(out);
+        long start = System.currentTimeMillis();
+        long[] rows = { 0 };
+
+        // Read-only transaction so the routing DataSource may serve it from a replica
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.executeWithoutResult(status -> {
+            JdbcTemplate cursor = new JdbcTemplate(jdbcTemplate.getDataSource());
+            cursor.setFetchSize(fetchSize);
+            cursor.query(sql.toString(), rs -> {
+                try {
+                    writer.write(rs);
+                } catch (IOException e) {
+                    // Client went away; abort the query instead of reading the rest of the table
+                    throw new UncheckedIOException(e);
+                }
+                rows[0]++;
+            }, args.toArray());
+        });
+
+        try {
+            writer.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        logger.info("Exported {} complaints as {} in {} ms", rows[0], format, System.currentTimeMillis() - start);
+    }
+
+    private static Object column(ResultSet rs, int index) throws SQLException {
+        return TIMESTAMP_COLUMNS[index] ? rs.getTimestamp(index + 1) : rs.getObject(index + 1);
+    }
+
+    private interface RowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        void finish() throws IOException;
+    }
+
+    private class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(OutputStream out) {
+            try {
+                JsonFactory factory = objectMapper.getFactory();
+                this.generator = factory.createGenerator(out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null); // Rows are separated by newlines only
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < COLUMNS.length; i++) {
+                Object value = column(rs, i);
+                generator.writeFieldName(COLUMNS[i]);
+                if (value == null) {
+                    generator.writeNull();
+                } else if (value instanceof Number) {
+                    generator.writeNumber(value.toString());
+                } else if (value instanceof Timestamp) {
+                    generator.writeString(((Timestamp) value).toInstant().toString());
+                } else {
+                    generator.writeString(value.toString());
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream out) {
+            this.writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            try {
+                writer.write(String.join(",", COLUMNS));
+                writer.write("\r\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            for (int i = 0; i < COLUMNS.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = column(rs, i);
+                if (value instanceof Timestamp) {
+                    writer.write(((Timestamp) value).toInstant().toString());
+                } else if (value != null) {
+                    writer.write(escape(value.toString()));
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        // RFC 4180: quote fields containing separators, quotes or line breaks
+        private static String escape(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                    && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+}
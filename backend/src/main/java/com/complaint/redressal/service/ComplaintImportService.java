@@ -0,0 +1,401 @@
+package com.complaint.redressal.service;
+
+import com.complaint.redressal.geo.GeoHash;
+import com.complaint.redressal.model.Complaint;
+import com.complaint.redressal.model.ComplaintCategory;
+import com.complaint.redressal.model.ComplaintStatus;
+import com.complaint.redressal.model.ImportCheckpoint;
+import com.complaint.redressal.model.Municipality;
+import com.complaint.redressal.payload.ComplaintImportResponse;
+import com.complaint.redressal.payload.LegacyComplaintRow;
+import com.complaint.redressal.payload.ReverseGeocodeResponse;
+import com.complaint.redressal.repository.ImportCheckpointRepository;
+import com.complaint.redressal.repository.UserRepository;
+import com.complaint.redressal.util.CsvReader;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of legacy complaints from a CSV or JSON stream. Rows are read in
+ * chunks; each chunk is validated and geo-assigned (boundary lookup, geohash,
+ * reverse geocoding of missing addresses) in parallel, then written with one
+ * JDBC batch insert. The job's checkpoint row is advanced in the same
+ * transaction, so rerunning a job id resumes right after the last committed
+ * chunk. Departments, municipalities and users are resolved from in-memory
+ * maps. No per-row events are published: counters, heatmap, search and
+ * duplicate detection are rebuilt once the import finishes.
+ */
+@Service
+public class ComplaintImportService {
+    private static final Logger logger = LoggerFactory.getLogger(ComplaintImportService.class);
+    private static final int MAX_LOGGED_FAILURES = 20;
+    private static final long PROGRESS_INTERVAL_MS = 5000;
+
+    public enum Format {
+        CSV,
+        JSON
+    }
+
+    private static final String INSERT = "insert into complaints (title, description, category, status, latitude, "
+            + "longitude, address, geohash, user_id, assigned_department_id, municipality_id, city_name, "
+            + "created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ImportCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private MunicipalityBoundaryIndex municipalityBoundaryIndex;
+
+    @Autowired
+    private ReverseGeocodingService reverseGeocodingService;
+
+    @Autowired
+    private ComplaintCounterService complaintCounterService;
+
+    @Autowired
+    private HeatmapService heatmapService;
+
+    @Autowired
+    private ComplaintSearchService complaintSearchService;
+
+    @Autowired
+    private DuplicateComplaintDetector duplicateComplaintDetector;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.import.chunkSize:1000}")
+    private int chunkSize;
+
+    @Value("${app.import.parallelism:0}")
+    private int parallelism; // 0 = one worker per core
+
+    // One job at a time; the database is the bottleneck, not the parsing
+    public synchronized ComplaintImportResponse importComplaints(String jobId, Format format, InputStream in)
+            throws IOException {
+        long resumedFrom = checkpointRepository.findById(jobId).map(ImportCheckpoint::getRowsDone).orElse(0L);
+        Map<String, Long> userIds = new HashMap<>();
+        for (Object[] row : userRepository.findAllUsernamesAndIds()) {
+            userIds.put((String) row[0], (Long) row[1]);
+        }
+
+        Iterator<LegacyComplaintRow> rows = format == Format.CSV ? csvRows(in) : jsonRows(in);
+        ForkJoinPool pool = new ForkJoinPool(parallelism > 0 ? parallelism
+                : Runtime.getRuntime().availableProcessors());
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Map<String, Long> departmentIds = new HashMap<>();
+
+        long start = System.currentTimeMillis();
+        long lastProgress = start;
+        long rowNumber = 0;
+        long imported = 0;
+        long failed = 0;
+        try {
+            for (; rowNumber < resumedFrom && rows.hasNext(); rowNumber++) {
+                rows.next();
+            }
+            while (rows.hasNext()) {
+                List<LegacyComplaintRow> chunk = new ArrayList<>(chunkSize);
+                while (chunk.size() < chunkSize && rows.hasNext()) {
+                    chunk.add(rows.next());
+                }
+                long firstRow = rowNumber + 1;
+                rowNumber += chunk.size();
+
+                List<Prepared> prepared = pool.submit(() -> chunk.parallelStream()
+                        .map(row -> prepare(row, userIds))
+                        .collect(Collectors.toList())).get();
+
+                List<Object[]> batch = new ArrayList<>(prepared.size());
+                for (int i = 0; i < prepared.size(); i++) {
+                    Prepared p = prepared.get(i);
+                    if (p.error != null) {
+                        if (failed++ < MAX_LOGGED_FAILURES) {
+                            logger.warn("Import {}: row {} skipped: {}", jobId, firstRow + i, p.error);
+                        }
+                        continue;
+                    }
+                    // Sequential: a department created here must not be created twice
+                    p.values[9] = departmentIds.computeIfAbsent(p.departmentName,
+                            name -> referenceDataCache.getOrCreateDepartment(name).getId());
+                    batch.add(p.values);
+                }
+
+                long chunkFailed = prepared.size() - batch.size();
+                transaction.executeWithoutResult(status -> {
+                    if (!batch.isEmpty()) {
+                        jdbcTemplate.batchUpdate(INSERT, batch);
+                    }
+                    checkpointRepository.advance(jobId, chunk.size(), batch.size(), chunkFailed,
+                            Timestamp.from(Instant.now()));
+                });
+                imported += batch.size();
+
+                long now = System.currentTimeMillis();
+                if (now - lastProgress >= PROGRESS_INTERVAL_MS) {
+                    logger.info("Import {}: {} rows, {} imported, {} failed, {} rows/s", jobId,
+                            rowNumber - resumedFrom, imported, failed, rate(rowNumber - resumedFrom, now - start));
+                    lastProgress = now;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Import failed", e.getCause());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            pool.shutdown();
+        }
+
+        long elapsed = System.currentTimeMillis() - start;
+        long read = rowNumber - resumedFrom;
+        logger.info("Import {} finished: {} rows read, {} imported, {} failed in {} ms ({} rows/s)", jobId, read,
+                imported, failed, elapsed, rate(read, elapsed));
+        if (imported > 0) {
+            rebuildDerivedViews();
+        }
+        return new ComplaintImportResponse(jobId, resumedFrom, read, imported, failed, elapsed, rate(read, elapsed));
+    }
+
+    private void rebuildDerivedViews() {
+        complaintCounterService.reconcile();
+        heatmapService.rebuild();
+        complaintSearchService.rebuild();
+        duplicateComplaintDetector.rebuild();
+    }
+
+    private static double rate(long rows, long elapsedMs) {
+        return elapsedMs > 0 ? Math.round(rows * 10000.0 / elapsedMs) / 10.0 : rows;
+    }
+
+    // Runs on the import pool; everything here must be thread-safe and read-only
+    private Prepared prepare(LegacyComplaintRow row, Map<String, Long> userIds) {
+        Prepared prepared = new Prepared();
+        if (row instanceof UnreadableRow) {
+            prepared.error = ((UnreadableRow) row).error;
+            return prepared;
+        }
+        if (row.getTitle() == null || row.getTitle().trim().isEmpty()) {
+            prepared.error = "missing title";
+            return prepared;
+        }
+        ComplaintCategory category;
+        ComplaintStatus status;
+        Timestamp createdAt;
+        try {
+            category = ComplaintCategory.valueOf(upper(row.getCategory()));
+            status = row.getStatus() == null ? ComplaintStatus.PENDING : ComplaintStatus.valueOf(upper(row.getStatus()));
+            createdAt = parseTimestamp(row.getCreatedAt());
+        } catch (IllegalArgumentException | NullPointerException | DateTimeParseException e) {
+            prepared.error = "bad category, status or createdAt";
+            return prepared;
+        }
+
+        Double lat = row.getLatitude();
+        Double lon = row.getLongitude();
+        if (lat != null && lon != null && (Math.abs(lat) > 90 || Math.abs(lon) > 180)) {
+            prepared.error = "coordinates out of range";
+            return prepared;
+        }
+        boolean located = lat != null && lon != null;
+
+        // Same rules as ComplaintService.assignMunicipality, with an explicit name taking precedence
+        Optional<Municipality> municipality = Optional.empty();
+        if (row.getMunicipality() != null) {
+            municipality = referenceDataCache.findMunicipalityByName(row.getMunicipality());
+        }
+        if (!municipality.isPresent() && located) {
+            municipality = municipalityBoundaryIndex.locate(lat, lon);
+        }
+        if (!municipality.isPresent()) {
+            municipality = referenceDataCache.findMunicipalityByName("Chennai");
+        }
+
+        String address = row.getAddress();
+        if ((address == null || address.trim().isEmpty()) && located) {
+            address = reverseGeocodingService.reverse(lat, lon).map(ReverseGeocodeResponse::getDisplayName)
+                    .orElse(null);
+        }
+
+        prepared.departmentName = row.getDepartment() != null ? row.getDepartment()
+                : ComplaintService.mapCategoryToDepartment(category);
+        // updated_at is the import time, so watermark-based consumers (snapshots) pick the rows up
+        prepared.values = new Object[] { row.getTitle(), row.getDescription(), category.name(), status.name(),
+                lat, lon, address,
+                located ? GeoHash.encode(lat, lon, Complaint.GEOHASH_PRECISION) : null,
+                row.getUsername() != null ? userIds.get(row.getUsername()) : null,
+                null, // Department id, resolved on the calling thread
+                municipality.map(Municipality::getId).orElse(null),
+                municipality.map(Municipality::getName).orElse("Chennai"),
+                createdAt, Timestamp.from(Instant.now()) };
+        return prepared;
+    }
+
+    private static String upper(String value) {
+        return value.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static Timestamp parseTimestamp(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return Timestamp.from(Instant.now());
+        }
+        String v = value.trim();
+        if (v.length() == 10) {
+            return Timestamp.valueOf(LocalDate.parse(v).atStartOfDay());
+        }
+        try {
+            return Timestamp.from(OffsetDateTime.parse(v).toInstant());
+        } catch (DateTimeParseException e) {
+            // No offset: local time, like the rest of the timestamps
+            return Timestamp.valueOf(LocalDateTime.parse(v.replace(' ', 'T')));
+        }
+    }
+
+    // Header names map onto LegacyComplaintRow fields; empty cells are null
+    private Iterator<LegacyComplaintRow> csvRows(InputStream in) throws IOException {
+        CsvReader reader = new CsvReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<String> header = reader.readRecord();
+        if (header == null) {
+            return new ArrayList<LegacyComplaintRow>().iterator();
+        }
+        return new Iterator<LegacyComplaintRow>() {
+            private List<String> next = advance();
+
+            private List<String> advance() {
+                try {
+                    List<String> record;
+                    do {
+                        record = reader.readRecord();
+                    } while (record != null && record.size() == 1 && record.get(0).isEmpty());
+                    return record;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public LegacyComplaintRow next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                Map<String, String> values = new LinkedHashMap<>();
+                for (int i = 0; i < header.size() && i < next.size(); i++) {
+                    String value = next.get(i).trim();
+                    values.put(header.get(i).trim(), value.isEmpty() ? null : value);
+                }
+                next = advance();
+                try {
+                    return objectMapper.convertValue(values, LegacyComplaintRow.class);
+                } catch (IllegalArgumentException e) {
+                    // Unparseable number; handed on so the row is skipped with the real cause
+                    return new UnreadableRow(conversionError(e));
+                }
+            }
+        };
+    }
+
+    // Accepts a top-level JSON array or newline-delimited objects
+    private Iterator<LegacyComplaintRow> jsonRows(InputStream in) throws IOException {
+        MappingIterator<LegacyComplaintRow> iterator = objectMapper.readerFor(LegacyComplaintRow.class).readValues(in);
+        return new Iterator<LegacyComplaintRow>() {
+            @Override
+            public boolean hasNext() {
+                try {
+                    return iterator.hasNextValue();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public LegacyComplaintRow next() {
+                try {
+                    return iterator.nextValue();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    // Names the column and value Jackson could not convert, e.g. "unparseable latitude 'north'"
+    private static String conversionError(IllegalArgumentException e) {
+        if (!(e.getCause() instanceof JsonMappingException)) {
+            return "unparseable row";
+        }
+        List<JsonMappingException.Reference> path = ((JsonMappingException) e.getCause()).getPath();
+        String field = path.isEmpty() ? "value" : path.get(path.size() - 1).getFieldName();
+        Object value = e.getCause() instanceof InvalidFormatException
+                ? ((InvalidFormatException) e.getCause()).getValue()
+                : null;
+        return "unparseable " + field + (value != null ? " '" + value + "'" : "");
+    }
+
+    // A CSV record that could not be converted; carries the reason to prepare()
+    private static class UnreadableRow extends LegacyComplaintRow {
+        final String error;
+
+        UnreadableRow(String error) {
+            this.error = error;
+        }
+    }
+
+    private static class Prepared {
+        Object[] values;
+        String departmentName;
+        String error;
+    }
+}
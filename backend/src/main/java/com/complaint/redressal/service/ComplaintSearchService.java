@@ -0,0 +1,370 @@
+package com.complaint.redressal.service;
+
+import com.complaint.redressal.model.Admin;
+import com.complaint.redressal.model.Complaint;
+import com.complaint.redressal.model.ComplaintCategory;
+import com.complaint.redressal.model.ComplaintChangedEvent;
+import com.complaint.redressal.model.ComplaintStatus;
+import com.complaint.redressal.payload.ComplaintSearchResult;
+import com.complaint.redressal.repository.ComplaintRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory inverted index over complaint title, description and address.
+ * Postings map each term to a field-weighted term frequency per complaint and
+ * are updated after commit from ComplaintChangedEvent, so a new complaint is
+ * searchable as soon as it is saved; a scheduled rebuild picks up changes made
+ * by other instances. All query terms must match; a trailing
+ * '*' matches the term as a prefix. Hits are ranked by tf-idf with length
+ * normalisation, and only the requested page is loaded from the database.
+ */
+@Service
+public class ComplaintSearchService {
+    private static final Logger logger = LoggerFactory.getLogger(ComplaintSearchService.class);
+
+    private static final Pattern SPLIT = Pattern.compile("[^\\p{L}\\p{M}\\p{N}]+");
+    private static final Set<String> STOP_WORDS = new HashSet<>(Arrays.asList("a", "an", "and", "are", "as",
+            "at", "be", "by", "for", "from", "has", "in", "is", "it", "of", "on", "or", "the", "this", "to",
+            "was", "with"));
+
+    // Field boosts: a hit in the title says more than one in a long description
+    private static final float TITLE_WEIGHT = 3f;
+    private static final float ADDRESS_WEIGHT = 2f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+
+    private static final long GLOBAL_SCOPE = -1L;
+    public static final int MAX_PAGE_SIZE = 100;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    @Value("${app.search.maxPrefixExpansions:50}")
+    private int maxPrefixExpansions;
+
+    private Index current = new Index();
+    // Non-null while rebuild() runs; events applied meanwhile are replayed onto the new index
+    private List<ComplaintChangedEvent> pending;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Transactional(readOnly = true)
+    public ComplaintSearchResult search(Admin admin, String query, ComplaintCategory category,
+            ComplaintStatus status, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        List<String> clauses = parse(query);
+        if (clauses.isEmpty()) {
+            throw new IllegalArgumentException("Search query must contain at least one word");
+        }
+        // Same scoping as getComplaintsForAdmin
+        long scope = admin.getMunicipality() == null ? GLOBAL_SCOPE : admin.getMunicipality().getId();
+
+        List<Hit> hits = new ArrayList<>();
+        Map<String, Long> categoryFacet = new TreeMap<>();
+        Map<String, Long> statusFacet = new TreeMap<>();
+        lock.readLock().lock();
+        try {
+            Map<Long, Float> scores = match(clauses);
+            for (Map.Entry<Long, Float> entry : scores.entrySet()) {
+                Doc doc = current.docs.get(entry.getKey());
+                if (doc == null || (scope != GLOBAL_SCOPE && !Long.valueOf(scope).equals(doc.municipalityId))) {
+                    continue;
+                }
+                boolean categoryMatches = category == null || doc.category == category;
+                boolean statusMatches = status == null || doc.status == status;
+                // Each facet ignores its own filter, so the client can show the alternatives
+                if (statusMatches && doc.category != null) {
+                    categoryFacet.merge(doc.category.name(), 1L, Long::sum);
+                }
+                if (categoryMatches && doc.status != null) {
+                    statusFacet.merge(doc.status.name(), 1L, Long::sum);
+                }
+                if (categoryMatches && statusMatches) {
+                    hits.add(new Hit(entry.getKey(), entry.getValue() / doc.norm));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        hits.sort(Comparator.comparingDouble((Hit h) -> h.score).reversed()
+                .thenComparing(h -> h.id, Comparator.reverseOrder()));
+        List<Long> pageIds = hits.stream().skip((long) page * size).limit(size)
+                .map(h -> h.id).collect(Collectors.toList());
+
+        // A complaint deleted since the lookup simply drops out of the page
+        Map<Long, Complaint> loaded = complaintRepository.findByIdIn(pageIds).stream()
+                .collect(Collectors.toMap(Complaint::getId, Function.identity()));
+        List<Complaint> items = pageIds.stream().map(loaded::get).filter(c -> c != null)
+                .collect(Collectors.toList());
+
+        Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+        facets.put("category", categoryFacet);
+        facets.put("status", statusFacet);
+        return new ComplaintSearchResult(items, hits.size(), page, size, facets);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onComplaintChanged(ComplaintChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            current.apply(event);
+            if (pending != null) {
+                pending.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Builds a new index from the complaints table in id-ordered batches, then
+     * swaps it in. Searches keep using the old index meanwhile, and events that
+     * arrive during the build are replayed onto the new one before the swap
+     * (applying an event is idempotent, so one the build already saw is harmless).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.search.reconcileCron:0 15 * * * *}")
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Index rebuilt = new Index();
+        try {
+            long afterId = 0;
+            List<Object[]> batch;
+            do {
+                batch = complaintRepository.findSearchDocuments(afterId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                for (Object[] row : batch) {
+                    rebuilt.index((Long) row[0], (String) row[1], (String) row[2], (String) row[3],
+                            (ComplaintCategory) row[4], (ComplaintStatus) row[5], (Long) row[6]);
+                }
+                if (!batch.isEmpty()) {
+                    afterId = (Long) batch.get(batch.size() - 1)[0];
+                }
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pending.forEach(rebuilt::apply);
+            pending = null;
+            current = rebuilt;
+            logger.info("Search index built from {} complaints ({} terms)", rebuilt.docs.size(),
+                    rebuilt.postings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static int addTerms(Map<String, Float> weights, String text, float weight) {
+        List<String> terms = analyze(text);
+        for (String term : terms) {
+            weights.merge(term, weight, Float::sum);
+        }
+        return terms.size();
+    }
+
+    private static List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        for (String token : SPLIT.split(text.toLowerCase(Locale.ROOT))) {
+            if (token.length() > 1 && !STOP_WORDS.contains(token)) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+
+    // One clause per query term; "term*" matches every indexed term with that prefix
+    private static List<String> parse(String query) {
+        List<String> clauses = new ArrayList<>();
+        if (query == null) {
+            return clauses;
+        }
+        for (String word : query.trim().split("\\s+")) {
+            List<String> terms = analyze(word);
+            for (int i = 0; i < terms.size(); i++) {
+                boolean prefix = word.endsWith("*") && i == terms.size() - 1;
+                clauses.add(prefix ? terms.get(i) + "*" : terms.get(i));
+            }
+        }
+        return clauses;
+    }
+
+    // Called with the read lock held; conjunction of all clauses, scored by summed tf-idf
+    private Map<Long, Float> match(List<String> clauses) {
+        List<Map<Long, Float>> clauseScores = new ArrayList<>();
+        for (String clause : clauses) {
+            clauseScores.add(clauseScores(clause));
+        }
+        // Intersect starting from the rarest clause
+        clauseScores.sort(Comparator.comparingInt(Map::size));
+        Map<Long, Float> result = new HashMap<>(clauseScores.get(0));
+        for (int i = 1; i < clauseScores.size() && !result.isEmpty(); i++) {
+            Map<Long, Float> next = clauseScores.get(i);
+            result.keySet().retainAll(next.keySet());
+            result.replaceAll((id, score) -> score + next.get(id));
+        }
+        return result;
+    }
+
+    private Map<Long, Float> clauseScores(String term) {
+        NavigableMap<String, Map<Long, Float>> postings = current.postings;
+        Map<Long, Float> scores = new HashMap<>();
+        if (term.endsWith("*")) {
+            String prefix = term.substring(0, term.length() - 1);
+            int expansions = 0;
+            for (Map.Entry<String, Map<Long, Float>> entry : postings.tailMap(prefix, true).entrySet()) {
+                if (!entry.getKey().startsWith(prefix) || expansions++ >= maxPrefixExpansions) {
+                    break;
+                }
+                addScores(scores, entry.getValue());
+            }
+        } else {
+            Map<Long, Float> posting = postings.get(term);
+            if (posting != null) {
+                addScores(scores, posting);
+            }
+        }
+        return scores;
+    }
+
+    private void addScores(Map<Long, Float> scores, Map<Long, Float> posting) {
+        float idf = (float) Math.log(1 + (double) current.docs.size() / posting.size());
+        for (Map.Entry<Long, Float> entry : posting.entrySet()) {
+            scores.merge(entry.getKey(), entry.getValue() * idf, Float::sum);
+        }
+    }
+
+    // Postings and per-complaint docs; the live index is only mutated with the write lock held
+    private static class Index {
+        final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+        final Map<Long, Doc> docs = new HashMap<>();
+
+        void apply(ComplaintChangedEvent event) {
+            switch (event.getType()) {
+                case CREATED:
+                    index(event.getComplaintId(), event.getTitle(), event.getDescription(), event.getAddress(),
+                            event.getCategory(), event.getStatus(), event.getMunicipalityId());
+                    break;
+                case STATUS_CHANGED:
+                    Doc doc = docs.get(event.getComplaintId());
+                    if (doc != null) {
+                        doc.status = event.getStatus();
+                    } else {
+                        index(event.getComplaintId(), event.getTitle(), event.getDescription(),
+                                event.getAddress(), event.getCategory(), event.getStatus(),
+                                event.getMunicipalityId());
+                    }
+                    break;
+                case DELETED:
+                case ARCHIVED:
+                    remove(event.getComplaintId());
+                    break;
+            }
+        }
+
+        void index(Long id, String title, String description, String address, ComplaintCategory category,
+                ComplaintStatus status, Long municipalityId) {
+            if (id == null) {
+                return;
+            }
+            remove(id);
+            Map<String, Float> weights = new HashMap<>();
+            int length = addTerms(weights, title, TITLE_WEIGHT)
+                    + addTerms(weights, address, ADDRESS_WEIGHT)
+                    + addTerms(weights, description, DESCRIPTION_WEIGHT);
+            for (Map.Entry<String, Float> entry : weights.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), k -> new HashMap<>()).put(id, entry.getValue());
+            }
+            docs.put(id, new Doc(weights.keySet().toArray(new String[0]), municipalityId, category, status,
+                    (float) Math.sqrt(Math.max(1, length))));
+        }
+
+        void remove(Long id) {
+            Doc doc = docs.remove(id);
+            if (doc == null) {
+                return;
+            }
+            for (String term : doc.terms) {
+                Map<Long, Float> posting = postings.get(term);
+                if (posting != null) {
+                    posting.remove(id);
+                    if (posting.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+        }
+    }
+
+    private static class Doc {
+        final String[] terms;
+        final Long municipalityId;
+        final ComplaintCategory category;
+        ComplaintStatus status;
+        final float norm;
+
+        Doc(String[] terms, Long municipalityId, ComplaintCategory category, ComplaintStatus status, float norm) {
+            this.terms = terms;
+            this.municipalityId = municipalityId;
+            this.category = category;
+            this.status = status;
+            this.norm = norm;
+        }
+    }
+
+    private static class Hit {
+        final Long id;
+        final double score;
+
+        Hit(Long id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+    }
+}
@@ -1,22 +1,34 @@
 package com.complaint.redressal.service;
 
 import com.complaint.redressal.model.*;
+import com.complaint.redressal.payload.BulkStatusUpdateResponse;
+import com.complaint.redressal.payload.ComplaintPageQuery;
+import com.complaint.redressal.payload.CursorPage;
+import com.complaint.redressal.payload.ReverseGeocodeResponse;
 import com.complaint.redressal.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.Optional;
 
 @Service
 public class ComplaintService {
-    @Autowired
-    private ComplaintRepository complaintRepository;
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+    public static final int MAX_BULK_IDS = 1000;
 
     @Autowired
-    private DepartmentRepository departmentRepository;
+    private ComplaintRepository complaintRepository;
 
     @Autowired
     private StatusHistoryRepository statusHistoryRepository;
@@ -25,7 +37,22 @@ public class ComplaintService {
     private FileStorageService fileStorageService;
 
     @Autowired
-    private MunicipalityRepository municipalityRepository;
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private MunicipalityBoundaryIndex municipalityBoundaryIndex;
+
+    @Autowired
+    private ReverseGeocodingService reverseGeocodingService;
+
+    @Autowired
+    private DuplicateComplaintDetector duplicateComplaintDetector;
+
+    @Autowired
+    private ComplaintArchiveService complaintArchiveService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public Complaint createComplaint(String title, String description, ComplaintCategory category,
@@ -36,6 +63,12 @@ public class ComplaintService {
         complaint.setCategory(category);
         complaint.setLatitude(lat);
         complaint.setLongitude(lon);
+        if ((address == null || address.trim().isEmpty()) && lat != null && lon != null) {
+            // Resolve locally instead of relying on the client's Nominatim lookup
+            address = reverseGeocodingService.reverse(lat, lon)
+                    .map(ReverseGeocodeResponse::getDisplayName)
+                    .orElse(null);
+        }
         complaint.setAddress(address);
         complaint.setUser(user);
 
@@ -44,64 +77,39 @@ public class ComplaintService {
             complaint.setImageUrl(fileName);
         }
 
-        // Auto-assign department
-        String deptName = mapCategoryToDepartment(category);
-        Optional<Department> dept = departmentRepository.findByName(deptName);
-        if (dept.isPresent()) {
-            complaint.setAssignedDepartment(dept.get());
-        } else {
-            // Create department if not exists (Seeding logic essentially)
-            Department newDept = new Department(deptName);
-            departmentRepository.save(newDept);
-            complaint.setAssignedDepartment(newDept);
-        }
+        // Auto-assign department (created on first use)
+        complaint.setAssignedDepartment(referenceDataCache.getOrCreateDepartment(mapCategoryToDepartment(category)));
 
         // Auto-assign Municipality based on Location
         assignMunicipality(complaint, lat, lon);
 
-        return complaintRepository.save(complaint);
+        duplicateComplaintDetector.findDuplicate(category, lat, lon, System.currentTimeMillis())
+                .ifPresent(complaint::setDuplicateOfId);
+
+        Complaint saved = complaintRepository.save(complaint);
+        eventPublisher.publishEvent(ComplaintChangedEvent.created(saved));
+        return saved;
     }
 
     private void assignMunicipality(Complaint complaint, Double lat, Double lon) {
-        // Simplified Logic: Distance-based routing
-        // In a real app, use Google Maps Geocoding API or Nominatim here
-
-        // Coordinates for centers
-        // Chennai: 13.0827, 80.2707
-        // Coimbatore: 11.0168, 76.9558
-        // Salem: 11.6643, 78.1460
-
+        // Point-in-polygon lookup against the boundary index, nearest centre outside
+        // every boundary, "Chennai" when no location was supplied
+        Optional<Municipality> municipality = Optional.empty();
         if (lat != null && lon != null) {
-            double distChennai = calculateDistance(lat, lon, 13.0827, 80.2707);
-            double distCoimbatore = calculateDistance(lat, lon, 11.0168, 76.9558);
-            double distSalem = calculateDistance(lat, lon, 11.6643, 78.1460);
-
-            String city = "Chennai"; // Default
-            if (distCoimbatore < distChennai && distCoimbatore < distSalem) {
-                city = "Coimbatore";
-            } else if (distSalem < distChennai && distSalem < distCoimbatore) {
-                city = "Salem";
-            }
+            municipality = municipalityBoundaryIndex.locate(lat, lon);
+        }
 
-            complaint.setCityName(city);
-            municipalityRepository.findByName(city).ifPresent(complaint::setMunicipality);
+        if (municipality.isPresent()) {
+            complaint.setCityName(municipality.get().getName());
+            complaint.setMunicipality(municipality.get());
         } else {
             complaint.setCityName("Chennai"); // Default fallback
-            municipalityRepository.findByName("Chennai").ifPresent(complaint::setMunicipality);
+            referenceDataCache.findMunicipalityByName("Chennai").ifPresent(complaint::setMunicipality);
         }
     }
 
-    private double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
-        double theta = lon1 - lon2;
-        double dist = Math.sin(Math.toRadians(lat1)) * Math.sin(Math.toRadians(lat2))
-                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.cos(Math.toRadians(theta));
-        dist = Math.acos(dist);
-        dist = Math.toDegrees(dist);
-        dist = dist * 60 * 1.1515;
-        return (dist * 1.609344); // Kilometers
-    }
-
-    private String mapCategoryToDepartment(ComplaintCategory category) {
+    // Shared with ComplaintImportService
+    static String mapCategoryToDepartment(ComplaintCategory category) {
         switch (category) {
             case ROAD:
                 return "Roads";
@@ -116,27 +124,62 @@ public class ComplaintService {
         }
     }
 
-    public List<Complaint> getComplaintsByUser(User user) {
-        return complaintRepository.findByUser(user);
+    @Transactional(readOnly = true)
+    public CursorPage<Complaint> getComplaintsByUser(User user, ComplaintPageQuery query, String cursor) {
+        query.setUserId(user.getId());
+        query.setMunicipalityId(null);
+        return findPage(query, cursor);
     }
 
-    // Deprecated for Admin use, use getComplaintsForAdmin instead
-    public List<Complaint> getAllComplaints() {
-        return complaintRepository.findAll();
+    @Transactional(readOnly = true)
+    public CursorPage<Complaint> getComplaintsForAdmin(Admin admin, ComplaintPageQuery query, String cursor) {
+        // Super admins see all complaints, municipality admins only their own municipality
+        query.setUserId(null);
+        query.setMunicipalityId(admin.getMunicipality() != null ? admin.getMunicipality().getId() : null);
+        return findPage(query, cursor);
     }
 
-    public List<Complaint> getComplaintsForAdmin(Admin admin) {
-        if (admin.getMunicipality() == null) {
-            // Super Admin sees all
-            return complaintRepository.findAll();
-        } else {
-            // Scoped Admin sees only their municipality
-            return complaintRepository.findByMunicipality(admin.getMunicipality());
+    private CursorPage<Complaint> findPage(ComplaintPageQuery query, String cursor) {
+        int limit = query.getLimit();
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (cursor != null && !cursor.isEmpty()) {
+            decodeCursor(cursor, query);
+        }
+
+        // Fetch one extra row to learn whether another page exists
+        query.setLimit(limit + 1);
+        List<Complaint> rows = complaintRepository.findPage(query);
+        boolean hasMore = rows.size() > limit;
+        if (hasMore) {
+            rows = new ArrayList<>(rows.subList(0, limit));
+        }
+        String nextCursor = hasMore ? encodeCursor(rows.get(rows.size() - 1)) : null;
+        return new CursorPage<>(rows, nextCursor, hasMore);
+    }
+
+    // Opaque cursor: base64url("<createdAt millis>:<id>") of the last row returned
+    private static String encodeCursor(Complaint last) {
+        String raw = last.getCreatedAt().getTime() + ":" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void decodeCursor(String cursor, ComplaintPageQuery query) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(':');
+            query.setCursorCreatedAt(new Timestamp(Long.parseLong(raw.substring(0, sep))));
+            query.setCursorId(Long.parseLong(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
         }
     }
 
+    @Transactional(readOnly = true)
     public Optional<Complaint> getComplaintById(Long id) {
-        return complaintRepository.findById(id);
+        Optional<Complaint> complaint = complaintRepository.findById(id);
+        return complaint.isPresent() ? complaint : complaintArchiveService.findArchived(id);
     }
 
     @Transactional
@@ -144,8 +187,10 @@ public class ComplaintService {
         Complaint complaint = complaintRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Complaint not found"));
 
+        ComplaintStatus previousStatus = complaint.getStatus();
         complaint.setStatus(status);
         Complaint updated = complaintRepository.save(complaint);
+        eventPublisher.publishEvent(ComplaintChangedEvent.statusChanged(updated, previousStatus));
 
         // Log history
         StatusHistory history = new StatusHistory();
@@ -158,6 +203,48 @@ public class ComplaintService {
         return updated;
     }
 
+    /**
+     * Applies one status to many complaints in a single transaction. Complaint
+     * updates and StatusHistory inserts are flushed together at commit as JDBC
+     * batches (hibernate.jdbc.batch_size).
+     */
+    @Transactional
+    public BulkStatusUpdateResponse bulkUpdateStatus(List<Long> ids, ComplaintStatus status, String remarks,
+            Admin admin) {
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        if (requested.size() > MAX_BULK_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_IDS + " complaints can be updated at once");
+        }
+
+        List<Complaint> complaints = new ArrayList<>();
+        for (Complaint complaint : complaintRepository.findByIdIn(requested)) {
+            // Municipality admins may only touch their own municipality
+            if (admin.getMunicipality() != null && (complaint.getMunicipality() == null
+                    || !complaint.getMunicipality().getId().equals(admin.getMunicipality().getId()))) {
+                continue;
+            }
+            complaints.add(complaint);
+        }
+
+        List<StatusHistory> histories = new ArrayList<>();
+        for (Complaint complaint : complaints) {
+            ComplaintStatus previousStatus = complaint.getStatus();
+            complaint.setStatus(status);
+            eventPublisher.publishEvent(ComplaintChangedEvent.statusChanged(complaint, previousStatus));
+
+            StatusHistory history = new StatusHistory();
+            history.setComplaint(complaint);
+            history.setStatus(status);
+            history.setRemarks(remarks);
+            history.setUpdatedBy(admin);
+            histories.add(history);
+            requested.remove(complaint.getId());
+        }
+        statusHistoryRepository.saveAll(histories);
+
+        return new BulkStatusUpdateResponse(complaints.size(), new ArrayList<>(requested));
+    }
+
     @Transactional
     public void deleteComplaint(Long id, User user) {
         Complaint complaint = complaintRepository.findById(id)
@@ -176,5 +263,6 @@ public class ComplaintService {
         }
 
         complaintRepository.delete(complaint);
+        eventPublisher.publishEvent(ComplaintChangedEvent.deleted(complaint));
     }
 }
@@ -0,0 +1,259 @@
+package com.complaint.redressal.service;
+
+import com.complaint.redressal.geo.GeoUtils;
+import com.complaint.redressal.model.ComplaintCategory;
+import com.complaint.redressal.model.ComplaintChangedEvent;
+import com.complaint.redressal.model.ComplaintStatus;
+import com.complaint.redressal.repository.ComplaintRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Spatio-temporal grid of recent open complaints keyed by (category, row, column,
+ * time bucket). Cells are at least the match radius wide and buckets the match
+ * window long, so a lookup only inspects the 3x3 neighbourhood in two buckets.
+ * The grid follows ComplaintChangedEvent and is rebuilt on a schedule to pick
+ * up changes made by other instances.
+ */
+@Service
+public class DuplicateComplaintDetector {
+    private static final Logger logger = LoggerFactory.getLogger(DuplicateComplaintDetector.class);
+    private static final double KM_PER_DEGREE_LAT = 111.32;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    @Value("${app.duplicates.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.duplicates.radiusMeters:50}")
+    private double radiusMeters;
+
+    @Value("${app.duplicates.windowHours:72}")
+    private long windowHours;
+
+    private volatile Grid current = new Grid();
+    // Serialises updates; pending is non-null while rebuild() runs, and its events are replayed onto the new grid
+    private final Object updateLock = new Object();
+    private List<ComplaintChangedEvent> pending;
+
+    public Optional<Long> findDuplicate(ComplaintCategory category, Double lat, Double lon, long createdAtMillis) {
+        if (!enabled || category == null || lat == null || lon == null) {
+            return Optional.empty();
+        }
+        double radiusKm = radiusMeters / 1000.0;
+        long windowMillis = windowMillis();
+        int row = row(lat);
+        long bucket = createdAtMillis / windowMillis;
+
+        Entry best = null;
+        double bestDistance = Double.MAX_VALUE;
+        Map<CellKey, Map<Long, Entry>> grid = current.cells;
+        for (int r = row - 1; r <= row + 1; r++) {
+            int col = col(r, lon);
+            for (int c = col - 1; c <= col + 1; c++) {
+                for (long b = bucket - 1; b <= bucket; b++) {
+                    Map<Long, Entry> cell = grid.get(new CellKey(category, r, c, b));
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (Entry entry : cell.values()) {
+                        if (Math.abs(createdAtMillis - entry.createdAtMillis) > windowMillis) {
+                            continue;
+                        }
+                        double distance = GeoUtils.distanceKm(lat, lon, entry.latitude, entry.longitude);
+                        if (distance <= radiusKm && distance < bestDistance) {
+                            best = entry;
+                            bestDistance = distance;
+                        }
+                    }
+                }
+            }
+        }
+        return best != null ? Optional.of(best.id) : Optional.empty();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onComplaintChanged(ComplaintChangedEvent event) {
+        synchronized (updateLock) {
+            apply(current, event);
+            if (pending != null) {
+                pending.add(event);
+            }
+        }
+    }
+
+    // Built in id-ordered batches off to the side; lookups use the old grid until the swap
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.duplicates.reconcileCron:0 20 * * * *}")
+    public synchronized void rebuild() {
+        synchronized (updateLock) {
+            pending = new ArrayList<>();
+        }
+
+        Grid rebuilt = new Grid();
+        try {
+            Timestamp since = new Timestamp(System.currentTimeMillis() - windowMillis());
+            List<ComplaintStatus> open = Arrays.asList(ComplaintStatus.PENDING, ComplaintStatus.IN_PROGRESS);
+            long afterId = 0;
+            List<Object[]> batch;
+            do {
+                batch = complaintRepository.findDuplicateCandidates(open, since, afterId,
+                        PageRequest.of(0, REBUILD_BATCH_SIZE));
+                for (Object[] row : batch) {
+                    add(rebuilt, (Long) row[0], (ComplaintCategory) row[1], (Double) row[2], (Double) row[3],
+                            (Timestamp) row[4]);
+                }
+                if (!batch.isEmpty()) {
+                    afterId = (Long) batch.get(batch.size() - 1)[0];
+                }
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+        } catch (RuntimeException e) {
+            synchronized (updateLock) {
+                pending = null;
+            }
+            throw e;
+        }
+
+        synchronized (updateLock) {
+            // Adding and removing are idempotent, so replaying an event the build already saw is harmless
+            pending.forEach(event -> apply(rebuilt, event));
+            pending = null;
+            current = rebuilt;
+        }
+        logger.info("Duplicate detection grid loaded with {} open complaints", rebuilt.cellsById.size());
+    }
+
+    // Entries older than the window can never match again
+    @Scheduled(fixedDelayString = "${app.duplicates.evictionMs:600000}")
+    public void evictExpired() {
+        long cutoffBucket = System.currentTimeMillis() / windowMillis() - 1;
+        synchronized (updateLock) {
+            Grid grid = current;
+            grid.cells.entrySet().removeIf(cell -> {
+                if (cell.getKey().bucket >= cutoffBucket) {
+                    return false;
+                }
+                cell.getValue().keySet().forEach(grid.cellsById::remove);
+                return true;
+            });
+        }
+    }
+
+    private void apply(Grid grid, ComplaintChangedEvent event) {
+        if (event.getType() != ComplaintChangedEvent.Type.DELETED && event.isOpen()) {
+            add(grid, event.getComplaintId(), event.getCategory(), event.getLatitude(), event.getLongitude(),
+                    event.getCreatedAt());
+        } else {
+            remove(grid, event.getComplaintId());
+        }
+    }
+
+    private void add(Grid grid, Long id, ComplaintCategory category, Double lat, Double lon, Timestamp createdAt) {
+        if (id == null || category == null || lat == null || lon == null || createdAt == null) {
+            return;
+        }
+        remove(grid, id);
+        int row = row(lat);
+        CellKey key = new CellKey(category, row, col(row, lon), createdAt.getTime() / windowMillis());
+        grid.cells.computeIfAbsent(key, k -> new ConcurrentHashMap<>())
+                .put(id, new Entry(id, lat, lon, createdAt.getTime()));
+        grid.cellsById.put(id, key);
+    }
+
+    private void remove(Grid grid, Long id) {
+        CellKey key = grid.cellsById.remove(id);
+        if (key != null) {
+            grid.cells.computeIfPresent(key, (k, cell) -> {
+                cell.remove(id);
+                return cell.isEmpty() ? null : cell;
+            });
+        }
+    }
+
+    private long windowMillis() {
+        return windowHours * 60 * 60 * 1000;
+    }
+
+    private double cellHeightDegrees() {
+        return (radiusMeters / 1000.0) / KM_PER_DEGREE_LAT;
+    }
+
+    private int row(double lat) {
+        return (int) Math.floor((lat + 90) / cellHeightDegrees());
+    }
+
+    // Column width is sized for the row's edge closest to a pole, so it is never narrower than the radius
+    private int col(int row, double lon) {
+        double height = cellHeightDegrees();
+        double edgeLat = Math.max(Math.abs(row * height - 90), Math.abs((row + 1) * height - 90));
+        double cos = Math.max(0.01, Math.cos(Math.toRadians(Math.min(90, edgeLat))));
+        return (int) Math.floor((lon + 180) / (height / cos));
+    }
+
+    private static class Grid {
+        final Map<CellKey, Map<Long, Entry>> cells = new ConcurrentHashMap<>();
+        final Map<Long, CellKey> cellsById = new ConcurrentHashMap<>();
+    }
+
+    private static class Entry {
+        final Long id;
+        final double latitude;
+        final double longitude;
+        final long createdAtMillis;
+
+        Entry(Long id, double latitude, double longitude, long createdAtMillis) {
+            this.id = id;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.createdAtMillis = createdAtMillis;
+        }
+    }
+
+    private static class CellKey {
+        final ComplaintCategory category;
+        final int row;
+        final int col;
+        final long bucket;
+
+        CellKey(ComplaintCategory category, int row, int col, long bucket) {
+            this.category = category;
+            this.row = row;
+            this.col = col;
+            this.bucket = bucket;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof CellKey))
+                return false;
+            CellKey other = (CellKey) o;
+            return row == other.row && col == other.col && bucket == other.bucket && category == other.category;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(category, row, col, bucket);
+        }
+    }
+}
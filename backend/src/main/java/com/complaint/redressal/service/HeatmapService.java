@@ -0,0 +1,298 @@
+package com.complaint.redressal.service;
+
+import com.complaint.redressal.geo.TileMath;
+import com.complaint.redressal.model.Admin;
+import com.complaint.redressal.model.ComplaintCategory;
+import com.complaint.redressal.model.ComplaintChangedEvent;
+import com.complaint.redressal.model.ComplaintStatus;
+import com.complaint.redressal.payload.HeatmapTile;
+import com.complaint.redressal.repository.ComplaintRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Multi-resolution grid of complaint counts for the admin heatmap. Every zoom
+ * level from 0 to maxZoom keeps its own aggregate, split into GRID_SIZE x
+ * GRID_SIZE cells per map tile, so serving a tile never touches the database.
+ * Counts are kept per municipality and globally, mirroring getComplaintsForAdmin.
+ * The point each complaint contributes is remembered, so applying an event
+ * twice changes nothing and cells that drop to zero are removed; a scheduled
+ * rebuild picks up changes made by other instances.
+ */
+@Service
+public class HeatmapService {
+    private static final Logger logger = LoggerFactory.getLogger(HeatmapService.class);
+
+    private static final int GRID_BITS = 4;
+    public static final int GRID_SIZE = 1 << GRID_BITS;
+    private static final long GLOBAL_SCOPE = -1L;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    @Value("${app.heatmap.maxZoom:16}")
+    private int maxZoom;
+
+    private volatile Aggregate current = new Aggregate();
+    // Serialises updates; pending is non-null while rebuild() runs, and its events are replayed onto the new aggregate
+    private final Object updateLock = new Object();
+    private List<ComplaintChangedEvent> pending;
+
+    public HeatmapTile getTile(Admin admin, int z, long x, long y) {
+        if (z < 0 || z > maxZoom) {
+            throw new IllegalArgumentException("Zoom must be between 0 and " + maxZoom);
+        }
+        long n = 1L << z;
+        if (x < 0 || x >= n || y < 0 || y >= n) {
+            throw new IllegalArgumentException("Tile coordinates out of range");
+        }
+
+        long scope = admin.getMunicipality() == null ? GLOBAL_SCOPE : admin.getMunicipality().getId();
+        Map<Integer, CellCounts> cells = current.tiles.get(new TileKey(scope, z, x, y));
+
+        List<HeatmapTile.Cell> result = new ArrayList<>();
+        if (cells != null) {
+            int cellZoom = z + GRID_BITS;
+            for (Map.Entry<Integer, CellCounts> entry : cells.entrySet()) {
+                int cx = entry.getKey() % GRID_SIZE;
+                int cy = entry.getKey() / GRID_SIZE;
+                long gx = x * GRID_SIZE + cx;
+                long gy = y * GRID_SIZE + cy;
+                CellCounts counts = entry.getValue();
+                synchronized (counts) {
+                    if (counts.total <= 0) {
+                        continue;
+                    }
+                    result.add(new HeatmapTile.Cell(cx, cy,
+                            TileMath.tileLat(gy + 0.5, cellZoom), TileMath.tileLon(gx + 0.5, cellZoom),
+                            counts.total, counts.statusMap(), counts.categoryMap()));
+                }
+            }
+        }
+        return new HeatmapTile(z, x, y, GRID_SIZE, result);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onComplaintChanged(ComplaintChangedEvent event) {
+        synchronized (updateLock) {
+            apply(current, event);
+            if (pending != null) {
+                pending.add(event);
+            }
+        }
+    }
+
+    // Built in id-ordered batches off to the side; tiles are served from the old aggregate until the swap
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.heatmap.reconcileCron:0 25 * * * *}")
+    public synchronized void rebuild() {
+        synchronized (updateLock) {
+            pending = new ArrayList<>();
+        }
+
+        Aggregate rebuilt = new Aggregate();
+        try {
+            long afterId = 0;
+            List<Object[]> batch;
+            do {
+                batch = complaintRepository.findHeatmapPoints(afterId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                for (Object[] row : batch) {
+                    set(rebuilt, (Long) row[0], new Point((Double) row[1], (Double) row[2],
+                            (ComplaintStatus) row[3], (ComplaintCategory) row[4], (Long) row[5]));
+                }
+                if (!batch.isEmpty()) {
+                    afterId = (Long) batch.get(batch.size() - 1)[0];
+                }
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+        } catch (RuntimeException e) {
+            synchronized (updateLock) {
+                pending = null;
+            }
+            throw e;
+        }
+
+        synchronized (updateLock) {
+            pending.forEach(event -> apply(rebuilt, event));
+            pending = null;
+            current = rebuilt;
+        }
+        logger.info("Heatmap aggregate built from {} complaints ({} tiles)", rebuilt.points.size(),
+                rebuilt.tiles.size());
+    }
+
+    private void apply(Aggregate aggregate, ComplaintChangedEvent event) {
+        boolean present = event.getType() == ComplaintChangedEvent.Type.CREATED
+                || event.getType() == ComplaintChangedEvent.Type.STATUS_CHANGED;
+        if (present && event.getLatitude() != null && event.getLongitude() != null) {
+            set(aggregate, event.getComplaintId(), new Point(event.getLatitude(), event.getLongitude(),
+                    event.getStatus(), event.getCategory(), event.getMunicipalityId()));
+        } else {
+            set(aggregate, event.getComplaintId(), null);
+        }
+    }
+
+    // Replaces whatever the complaint contributed before with point (null removes it)
+    private void set(Aggregate aggregate, Long id, Point point) {
+        if (id == null) {
+            return;
+        }
+        Point previous = point != null ? aggregate.points.put(id, point) : aggregate.points.remove(id);
+        if (point != null && point.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            add(aggregate, previous, -1);
+        }
+        if (point != null) {
+            add(aggregate, point, 1);
+        }
+    }
+
+    private void add(Aggregate aggregate, Point point, int delta) {
+        update(aggregate, GLOBAL_SCOPE, point, delta);
+        if (point.municipalityId != null) {
+            update(aggregate, point.municipalityId, point, delta);
+        }
+    }
+
+    private void update(Aggregate aggregate, long scope, Point point, int delta) {
+        for (int z = 0; z <= maxZoom; z++) {
+            int cellZoom = z + GRID_BITS;
+            long gx = TileMath.tileX(point.longitude, cellZoom);
+            long gy = TileMath.tileY(point.latitude, cellZoom);
+            TileKey key = new TileKey(scope, z, gx >> GRID_BITS, gy >> GRID_BITS);
+            int cellIndex = (int) ((gy & (GRID_SIZE - 1)) * GRID_SIZE + (gx & (GRID_SIZE - 1)));
+
+            Map<Integer, CellCounts> cells = aggregate.tiles.computeIfAbsent(key, k -> new ConcurrentHashMap<>());
+            CellCounts counts = cells.computeIfAbsent(cellIndex, k -> new CellCounts());
+            boolean empty;
+            synchronized (counts) {
+                counts.total += delta;
+                if (point.category != null) {
+                    counts.byCategory[point.category.ordinal()] += delta;
+                }
+                if (point.status != null) {
+                    counts.byStatus[point.status.ordinal()] += delta;
+                }
+                empty = counts.total <= 0;
+            }
+            // Updates are serialised by updateLock, so nothing can re-add to a cell between the check and the removal
+            if (empty) {
+                cells.remove(cellIndex);
+                if (cells.isEmpty()) {
+                    aggregate.tiles.remove(key);
+                }
+            }
+        }
+    }
+
+    private static class Aggregate {
+        final Map<TileKey, Map<Integer, CellCounts>> tiles = new ConcurrentHashMap<>();
+        final Map<Long, Point> points = new HashMap<>();
+    }
+
+    private static class Point {
+        final double latitude;
+        final double longitude;
+        final ComplaintStatus status;
+        final ComplaintCategory category;
+        final Long municipalityId;
+
+        Point(double latitude, double longitude, ComplaintStatus status, ComplaintCategory category,
+                Long municipalityId) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.status = status;
+            this.category = category;
+            this.municipalityId = municipalityId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof Point))
+                return false;
+            Point other = (Point) o;
+            return latitude == other.latitude && longitude == other.longitude && status == other.status
+                    && category == other.category && Objects.equals(municipalityId, other.municipalityId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(latitude, longitude, status, category, municipalityId);
+        }
+    }
+
+    private static class CellCounts {
+        long total;
+        final long[] byStatus = new long[ComplaintStatus.values().length];
+        final long[] byCategory = new long[ComplaintCategory.values().length];
+
+        Map<String, Long> statusMap() {
+            Map<String, Long> map = new LinkedHashMap<>();
+            for (ComplaintStatus status : ComplaintStatus.values()) {
+                if (byStatus[status.ordinal()] > 0) {
+                    map.put(status.name(), byStatus[status.ordinal()]);
+                }
+            }
+            return map;
+        }
+
+        Map<String, Long> categoryMap() {
+            Map<String, Long> map = new LinkedHashMap<>();
+            for (ComplaintCategory category : ComplaintCategory.values()) {
+                if (byCategory[category.ordinal()] > 0) {
+                    map.put(category.name(), byCategory[category.ordinal()]);
+                }
+            }
+            return map;
+        }
+    }
+
+    private static class TileKey {
+        final long scope;
+        final int z;
+        final long x;
+        final long y;
+
+        TileKey(long scope, int z, long x, long y) {
+            this.scope = scope;
+            this.z = z;
+            this.x = x;
+            this.y = y;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof TileKey))
+                return false;
+            TileKey other = (TileKey) o;
+            return scope == other.scope && z == other.z && x == other.x && y == other.y;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(scope, z, x, y);
+        }
+    }
+}
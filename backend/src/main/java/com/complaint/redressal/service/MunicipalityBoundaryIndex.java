@@ -0,0 +1,138 @@
+package com.complaint.redressal.service;
+
+import com.complaint.redressal.geo.GeoPolygon;
+import com.complaint.redressal.geo.KdTree;
+import com.complaint.redressal.geo.StrTree;
+import com.complaint.redressal.model.Municipality;
+import com.complaint.redressal.model.MunicipalityChangedEvent;
+import com.complaint.redressal.repository.MunicipalityRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * In-memory STR-tree over municipality boundary polygons. Points outside every
+ * boundary fall back to the nearest municipality centre, found in a k-d tree
+ * over the centres, so both paths stay logarithmic in the number of
+ * municipalities. Lookups run against an immutable snapshot; any change to a
+ * Municipality row triggers a rebuild after commit and the new snapshot is
+ * swapped in atomically.
+ */
+@Service
+public class MunicipalityBoundaryIndex {
+    private static final Logger logger = LoggerFactory.getLogger(MunicipalityBoundaryIndex.class);
+
+    @Autowired
+    private MunicipalityRepository municipalityRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private volatile Snapshot snapshot;
+
+    public Optional<Municipality> locate(double lat, double lon) {
+        Snapshot current = current();
+
+        List<Municipality> hits = new ArrayList<>(1);
+        current.tree.query(lat, lon, entry -> {
+            if (entry.polygon.contains(lat, lon)) {
+                hits.add(entry.municipality);
+            }
+        });
+        if (!hits.isEmpty()) {
+            return Optional.of(hits.get(0));
+        }
+        KdTree.Nearest<Municipality> nearest = current.centres.nearest(lat, lon);
+        return nearest != null ? Optional.of(nearest.getItem()) : Optional.empty();
+    }
+
+    private Snapshot current() {
+        if (snapshot == null) {
+            rebuild();
+        }
+        return snapshot;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMunicipalityChanged(MunicipalityChangedEvent event) {
+        rebuild();
+    }
+
+    // Safety net for rows edited directly in the database
+    @Scheduled(fixedDelayString = "${app.geo.boundaryRefreshMs:300000}", initialDelayString = "${app.geo.boundaryRefreshMs:300000}")
+    public void periodicRefresh() {
+        rebuild();
+    }
+
+    public synchronized void rebuild() {
+        StrTree.Builder<Entry> builder = StrTree.builder();
+        List<Municipality> withCentre = new ArrayList<>();
+
+        for (Municipality municipality : municipalityRepository.findAll()) {
+            if (municipality.getCenterLatitude() != null && municipality.getCenterLongitude() != null) {
+                withCentre.add(municipality);
+            }
+            if (municipality.getBoundary() == null || municipality.getBoundary().isEmpty()) {
+                continue;
+            }
+            try {
+                for (GeoPolygon polygon : GeoPolygon.fromGeoJson(objectMapper.readTree(municipality.getBoundary()))) {
+                    builder.add(polygon.getMinLat(), polygon.getMinLon(), polygon.getMaxLat(), polygon.getMaxLon(),
+                            new Entry(municipality, polygon));
+                }
+            } catch (Exception e) {
+                logger.error("Invalid boundary for municipality {}: {}", municipality.getName(), e.getMessage());
+            }
+        }
+
+        StrTree<Entry> tree = builder.build();
+        KdTree<Municipality> centres = KdTree.build(withCentre, new KdTree.Coordinates<Municipality>() {
+            @Override
+            public double latitude(Municipality municipality) {
+                return municipality.getCenterLatitude();
+            }
+
+            @Override
+            public double longitude(Municipality municipality) {
+                return municipality.getCenterLongitude();
+            }
+        });
+        snapshot = new Snapshot(tree, centres);
+        logger.info("Municipality boundary index rebuilt: {} polygons, {} centres", tree.size(), centres.size());
+    }
+
+    private static class Entry {
+        final Municipality municipality;
+        final GeoPolygon polygon;
+
+        Entry(Municipality municipality, GeoPolygon polygon) {
+            this.municipality = municipality;
+            this.polygon = polygon;
+        }
+    }
+
+    private static class Snapshot {
+        final StrTree<Entry> tree;
+        final KdTree<Municipality> centres;
+
+        Snapshot(StrTree<Entry> tree, KdTree<Municipality> centres) {
+            this.tree = tree;
+            this.centres = centres;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.complaint.redressal.service;
+
+import com.complaint.redressal.geo.GeoHash;
+import com.complaint.redressal.geo.GeoUtils;
+import com.complaint.redressal.model.Complaint;
+import com.complaint.redressal.model.ComplaintCategory;
+import com.complaint.redressal.payload.NearbyComplaint;
+import com.complaint.redressal.repository.ComplaintRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Radius search over complaints. Candidates are narrowed by geohash prefix (an
+ * index range scan per covering cell) and bounding box, then filtered by exact
+ * haversine distance. The search starts with a small ring and doubles it until
+ * limit matches are found or the requested radius is reached, so a dense city
+ * costs roughly the rows nearest the point, not every row within the radius.
+ */
+@Service
+public class NearbyComplaintService {
+    private static final Logger logger = LoggerFactory.getLogger(NearbyComplaintService.class);
+
+    // Upper bound on range scans per query; coarser prefixes are used beyond this
+    private static final int MAX_COVERING_CELLS = 16;
+    private static final double KM_PER_DEGREE_LAT = 111.32;
+    private static final double INITIAL_RING_KM = 0.25;
+    private static final int BACKFILL_BATCH_SIZE = 500;
+    private static final String UPDATE_GEOHASH = "update complaints set geohash = ? where id = ?";
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.nearby.maxRadiusKm:50}")
+    private double maxRadiusKm;
+
+    @Value("${app.nearby.maxResults:200}")
+    private int maxResults;
+
+    @Transactional(readOnly = true)
+    public List<NearbyComplaint> findNearby(double lat, double lon, double radiusKm, ComplaintCategory category,
+            int limit) {
+        if (lat < -90 || lat > 90 || lon < -180 || lon > 180) {
+            throw new IllegalArgumentException("Coordinates out of range");
+        }
+        if (radiusKm <= 0 || radiusKm > maxRadiusKm) {
+            throw new IllegalArgumentException("radiusKm must be between 0 and " + maxRadiusKm);
+        }
+
+        int max = Math.min(Math.max(limit, 1), maxResults);
+        double ring = Math.min(radiusKm, INITIAL_RING_KM);
+        List<NearbyComplaint> matches = withinRadius(lat, lon, ring, category);
+        // Every complaint outside the ring is farther than every match inside it, so once the
+        // ring holds max matches the nearest max are among them
+        while (matches.size() < max && ring < radiusKm) {
+            ring = Math.min(radiusKm, ring * 2);
+            matches = withinRadius(lat, lon, ring, category);
+        }
+
+        matches.sort(Comparator.comparingDouble(NearbyComplaint::getDistanceKm));
+        return matches.size() > max ? new ArrayList<>(matches.subList(0, max)) : matches;
+    }
+
+    private List<NearbyComplaint> withinRadius(double lat, double lon, double radiusKm, ComplaintCategory category) {
+        double dLat = radiusKm / KM_PER_DEGREE_LAT;
+        double dLon = radiusKm / (KM_PER_DEGREE_LAT * Math.max(0.01, Math.cos(Math.toRadians(lat))));
+        double minLon = lon - dLon;
+        double maxLon = lon + dLon;
+        if (minLon < -180 || maxLon > 180) {
+            // The box wraps the antimeridian; let the cells and the distance check do the work
+            minLon = -180;
+            maxLon = 180;
+        }
+
+        List<NearbyComplaint> matches = new ArrayList<>();
+        for (String cell : coveringCells(lat, lon, dLat, dLon)) {
+            for (NearbyComplaint candidate : complaintRepository.findNearbyCandidates(cell, lat - dLat, lat + dLat,
+                    minLon, maxLon, category)) {
+                double distance = GeoUtils.distanceKm(lat, lon, candidate.getLatitude(), candidate.getLongitude());
+                if (distance <= radiusKm) {
+                    candidate.setDistanceKm(distance);
+                    matches.add(candidate);
+                }
+            }
+        }
+        return matches;
+    }
+
+    // Finest precision whose cells cover the search box within MAX_COVERING_CELLS prefixes
+    private static Set<String> coveringCells(double lat, double lon, double dLat, double dLon) {
+        int precision = Complaint.GEOHASH_PRECISION;
+        while (precision > 1) {
+            // Estimate before enumerating so fine precisions over large radii stay cheap
+            double rows = Math.floor(2 * dLat / GeoHash.cellHeightDegrees(precision)) + 2;
+            double cols = Math.floor(2 * dLon / GeoHash.cellWidthDegrees(precision)) + 2;
+            if (rows * cols <= MAX_COVERING_CELLS) {
+                break;
+            }
+            precision--;
+        }
+        return GeoHash.coveringCells(lat - dLat, lon - dLon, lat + dLat, lon + dLon, precision);
+    }
+
+    // Complaints created before the geohash column existed get it filled in once. Plain
+    // updates of the one column, so updatedAt (archival, snapshots) keeps the last real change.
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillGeohashes() {
+        long total = 0;
+        long afterId = 0;
+        List<Object[]> batch;
+        do {
+            long from = afterId;
+            batch = transactionTemplate.execute(status -> {
+                List<Object[]> rows = complaintRepository.findMissingGeohashes(from,
+                        PageRequest.of(0, BACKFILL_BATCH_SIZE));
+                List<Object[]> args = new ArrayList<>(rows.size());
+                for (Object[] row : rows) {
+                    args.add(new Object[] {
+                            GeoHash.encode((Double) row[1], (Double) row[2], Complaint.GEOHASH_PRECISION), row[0] });
+                }
+                jdbcTemplate.batchUpdate(UPDATE_GEOHASH, args);
+                return rows;
+            });
+            if (!batch.isEmpty()) {
+                afterId = (Long) batch.get(batch.size() - 1)[0];
+            }
+            total += batch.size();
+        } while (batch.size() == BACKFILL_BATCH_SIZE);
+
+        if (total > 0) {
+            logger.info("Backfilled geohash for {} complaints", total);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.complaint.redressal.service;
+
+import com.complaint.redressal.model.Department;
+import com.complaint.redressal.model.Municipality;
+import com.complaint.redressal.model.MunicipalityChangedEvent;
+import com.complaint.redressal.repository.DepartmentRepository;
+import com.complaint.redressal.repository.MunicipalityRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory copy of the departments and municipalities tables. Both are a handful
+ * of rows that change only through admin actions, so the whole set is loaded on
+ * first use and dropped whenever a municipality or department is written. The
+ * returned entities are shared and detached: use them as references, never
+ * modify them. Each snapshot carries the generation it was loaded in and
+ * invalidate() bumps the generation, so a reload that raced an invalidation is
+ * never served afterwards.
+ */
+@Service
+public class ReferenceDataCache {
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private MunicipalityRepository municipalityRepository;
+
+    private volatile Snapshot snapshot;
+    private final AtomicLong generation = new AtomicLong();
+    private final Object reloadLock = new Object();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong reloads = new AtomicLong();
+
+    public List<Department> getDepartments() {
+        return snapshot().departments;
+    }
+
+    public Optional<Department> findDepartmentById(Long id) {
+        return Optional.ofNullable(snapshot().departmentsById.get(id));
+    }
+
+    public Optional<Department> findDepartmentByName(String name) {
+        return Optional.ofNullable(snapshot().departmentsByName.get(name));
+    }
+
+    public Department getOrCreateDepartment(String name) {
+        Optional<Department> department = findDepartmentByName(name);
+        if (department.isPresent()) {
+            return department.get();
+        }
+        // Not in the snapshot: another transaction may have committed it since, or this one created it
+        Department created = departmentRepository.findByName(name)
+                .orElseGet(() -> departmentRepository.save(new Department(name)));
+        invalidateAfterTransaction();
+        return created;
+    }
+
+    public List<Municipality> getMunicipalities() {
+        return snapshot().municipalities;
+    }
+
+    public Optional<Municipality> findMunicipalityById(Long id) {
+        return Optional.ofNullable(snapshot().municipalitiesById.get(id));
+    }
+
+    public Optional<Municipality> findMunicipalityByName(String name) {
+        return Optional.ofNullable(snapshot().municipalitiesByName.get(name));
+    }
+
+    // Fired by MunicipalityChangeListener; after commit so a reload sees the new row
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMunicipalityChanged(MunicipalityChangedEvent event) {
+        invalidate();
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    // A reload before commit would miss the new row (or keep it after a rollback), so the
+    // snapshot is dropped once the surrounding transaction has finished either way
+    private void invalidateAfterTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                invalidate();
+            }
+        });
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    // Lookups that found no current snapshot; several may share one reload
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getReloads() {
+        return reloads.get();
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null && current.generation == generation.get()) {
+            hits.incrementAndGet();
+            return current;
+        }
+        misses.incrementAndGet();
+        synchronized (reloadLock) {
+            long loading = generation.get();
+            current = snapshot;
+            if (current != null && current.generation == loading) {
+                return current;
+            }
+            reloads.incrementAndGet();
+            current = new Snapshot(loading, departmentRepository.findAll(), municipalityRepository.findAll());
+            // Published even if invalidate() ran meanwhile: its generation is then stale and the next read reloads
+            snapshot = current;
+            return current;
+        }
+    }
+
+    private static class Snapshot {
+        final long generation;
+        final List<Department> departments;
+        final Map<Long, Department> departmentsById = new HashMap<>();
+        final Map<String, Department> departmentsByName = new HashMap<>();
+        final List<Municipality> municipalities;
+        final Map<Long, Municipality> municipalitiesById = new HashMap<>();
+        final Map<String, Municipality> municipalitiesByName = new HashMap<>();
+
+        Snapshot(long generation, List<Department> departments, List<Municipality> municipalities) {
+            this.generation = generation;
+            this.departments = Collections.unmodifiableList(departments);
+            this.municipalities = Collections.unmodifiableList(municipalities);
+            for (Department department : departments) {
+                departmentsById.put(department.getId(), department);
+                departmentsByName.put(department.getName(), department);
+            }
+            for (Municipality municipality : municipalities) {
+                municipalitiesById.put(municipality.getId(), municipality);
+                municipalitiesByName.put(municipality.getName(), municipality);
+            }
+        }
+    }
+}
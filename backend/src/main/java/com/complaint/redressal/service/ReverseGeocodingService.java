@@ -0,0 +1,154 @@
+package com.complaint.redressal.service;
+
+import com.complaint.redressal.geo.GeoHash;
+import com.complaint.redressal.geo.GeoUtils;
+import com.complaint.redressal.geo.KdTree;
+import com.complaint.redressal.payload.ReverseGeocodeResponse;
+import com.complaint.redressal.util.LruCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Offline reverse geocoder. Gazetteer entries are loaded into a KD-tree at
+ * startup. The nearest entry is cached per geohash cell so nearby points share
+ * the tree search; distance and the locality cut-off are computed per point.
+ */
+@Service
+public class ReverseGeocodingService {
+    private static final Logger logger = LoggerFactory.getLogger(ReverseGeocodingService.class);
+
+    @Autowired
+    private ResourceLoader resourceLoader;
+
+    @Value("${app.geo.gazetteerResource:classpath:geo/gazetteer.csv}")
+    private String gazetteerResource;
+
+    // Beyond this distance the nearest entry is reported as city/district only
+    @Value("${app.geo.reverseMaxDistanceKm:5}")
+    private double maxDistanceKm;
+
+    @Value("${app.geo.reverseCachePrecision:7}")
+    private int cachePrecision;
+
+    @Value("${app.geo.reverseCacheSize:10000}")
+    private int cacheSize;
+
+    private KdTree<Place> tree;
+    private LruCache<String, Place> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = new LruCache<>(cacheSize);
+        List<Place> places = loadGazetteer();
+        tree = KdTree.build(places, new KdTree.Coordinates<Place>() {
+            @Override
+            public double latitude(Place place) {
+                return place.latitude;
+            }
+
+            @Override
+            public double longitude(Place place) {
+                return place.longitude;
+            }
+        });
+        logger.info("Reverse geocoder loaded {} gazetteer entries from {}", places.size(), gazetteerResource);
+    }
+
+    public Optional<ReverseGeocodeResponse> reverse(double lat, double lon) {
+        if (lat < -90 || lat > 90 || lon < -180 || lon > 180) {
+            throw new IllegalArgumentException("Coordinates out of range");
+        }
+        String cell = GeoHash.encode(lat, lon, cachePrecision);
+        Place place = cache.computeIfAbsent(cell, key -> nearest(lat, lon));
+        return Optional.ofNullable(place).map(p -> describe(p, lat, lon));
+    }
+
+    private Place nearest(double lat, double lon) {
+        KdTree.Nearest<Place> nearest = tree.nearest(lat, lon);
+        return nearest != null ? nearest.getItem() : null;
+    }
+
+    private ReverseGeocodeResponse describe(Place place, double lat, double lon) {
+        double distanceKm = GeoUtils.distanceKm(lat, lon, place.latitude, place.longitude);
+        String locality = distanceKm <= maxDistanceKm ? place.name : null;
+
+        Set<String> parts = new LinkedHashSet<>();
+        if (locality != null) {
+            parts.add(locality);
+        }
+        parts.add(place.city);
+        parts.add(place.district);
+        parts.add("Tamil Nadu");
+
+        return new ReverseGeocodeResponse(locality, place.city, place.district, distanceKm,
+                String.join(", ", parts));
+    }
+
+    public long getCacheHits() {
+        return cache.getHits();
+    }
+
+    public long getCacheMisses() {
+        return cache.getMisses();
+    }
+
+    // CSV format: name,latitude,longitude,city,district ('#' starts a comment line)
+    private List<Place> loadGazetteer() {
+        List<Place> places = new ArrayList<>();
+        Resource resource = resourceLoader.getResource(gazetteerResource);
+        if (!resource.exists()) {
+            logger.error("Gazetteer not found: {}", gazetteerResource);
+            return places;
+        }
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] cols = line.split(",");
+                if (cols.length < 5) {
+                    continue;
+                }
+                places.add(new Place(cols[0].trim(), Double.parseDouble(cols[1]), Double.parseDouble(cols[2]),
+                        cols[3].trim(), cols[4].trim()));
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Could not load gazetteer: " + e.getMessage());
+        }
+        return places;
+    }
+
+    private static class Place {
+        final String name;
+        final double latitude;
+        final double longitude;
+        final String city;
+        final String district;
+
+        Place(String name, double latitude, double longitude, String city, String district) {
+            this.name = name;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.city = city;
+            this.district = district;
+        }
+    }
+}
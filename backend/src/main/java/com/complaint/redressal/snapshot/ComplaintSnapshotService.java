@@ -0,0 +1,375 @@
+package com.complaint.redressal.snapshot;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nightly columnar snapshots of complaints and status_history for analytics,
+ * written as Parquet (see SnapshotFile).
+ * Each run reads rows changed since the last watermark (updated_at for
+ * complaints, the append-only timestamp for history) minus lookbackMinutes,
+ * because those times are stamped before commit: a transaction that commits
+ * late, or a row that reaches the replica after the run, still falls inside
+ * the next run's window. Versions already written (id and change time, kept
+ * in _seen-{table}.txt for the lookback window) are skipped, so the overlap
+ * writes no duplicates. Rows are written under
+ * {dir}/{table}/municipality={id|none}/date={yyyy-MM-dd}/part-{run}-{n}.parquet,
+ * dated by the change time in UTC. A complaint updated on several days appears
+ * in several partitions; readers keep the row with the latest updated_at.
+ * Rows are read in (municipality, change time) order, so each partition's
+ * rows arrive together and only one file is open at a time; it holds at most
+ * one row group in memory, so memory use does not depend on the run size.
+ * The watermark file is only advanced after every file of the run is written,
+ * so a failed run is simply repeated by the next one.
+ */
+@Service
+public class ComplaintSnapshotService {
+    private static final Logger logger = LoggerFactory.getLogger(ComplaintSnapshotService.class);
+
+    public static final String WATERMARK_FILE = "_watermarks.properties";
+    private static final DateTimeFormatter RUN_ID = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss")
+            .withZone(ZoneOffset.UTC);
+
+    private static final List<SnapshotFile.Column> COMPLAINT_COLUMNS = Arrays.asList(
+            new SnapshotFile.Column("id", SnapshotFile.Type.LONG),
+            new SnapshotFile.Column("title", SnapshotFile.Type.STRING),
+            new SnapshotFile.Column("description", SnapshotFile.Type.STRING),
+            new SnapshotFile.Column("category", SnapshotFile.Type.STRING),
+            new SnapshotFile.Column("status", SnapshotFile.Type.STRING),
+            new SnapshotFile.Column("latitude", SnapshotFile.Type.DOUBLE),
+            new SnapshotFile.Column("longitude", SnapshotFile.Type.DOUBLE),
+            new SnapshotFile.Column("address", SnapshotFile.Type.STRING),
+            new SnapshotFile.Column("cityName", SnapshotFile.Type.STRING),
+            new SnapshotFile.Column("municipalityId", SnapshotFile.Type.LONG),
+            new SnapshotFile.Column("departmentId", SnapshotFile.Type.LONG),
+            new SnapshotFile.Column("userId", SnapshotFile.Type.LONG),
+            new SnapshotFile.Column("duplicateOfId", SnapshotFile.Type.LONG),
+            new SnapshotFile.Column("createdAt", SnapshotFile.Type.TIMESTAMP),
+            new SnapshotFile.Column("updatedAt", SnapshotFile.Type.TIMESTAMP));
+
+    private static final List<SnapshotFile.Column> HISTORY_COLUMNS = Arrays.asList(
+            new SnapshotFile.Column("id", SnapshotFile.Type.LONG),
+            new SnapshotFile.Column("complaintId", SnapshotFile.Type.LONG),
+            new SnapshotFile.Column("municipalityId", SnapshotFile.Type.LONG),
+            new SnapshotFile.Column("status", SnapshotFile.Type.STRING),
+            new SnapshotFile.Column("remarks", SnapshotFile.Type.STRING),
+            new SnapshotFile.Column("updatedByAdminId", SnapshotFile.Type.LONG),
+            new SnapshotFile.Column("timestamp", SnapshotFile.Type.TIMESTAMP));
+
+    // The last two selected columns are always the watermark (time, id)
+    private static final String COMPLAINTS_SQL = "select c.id, c.title, c.description, c.category, c.status, "
+            + "c.latitude, c.longitude, c.address, c.city_name, c.municipality_id, c.assigned_department_id, "
+            + "c.user_id, c.duplicate_of_id, c.created_at, c.updated_at, c.updated_at, c.id "
+            + "from complaints c "
+            + "where c.updated_at >= ? "
+            + "order by c.municipality_id, c.updated_at, c.id";
+
+    private static final String HISTORY_SQL = "select h.id, h.complaint_id, c.municipality_id, h.status, h.remarks, "
+            + "h.updated_by_admin_id, h.timestamp, h.timestamp, h.id "
+            + "from status_history h left join complaints c on c.id = h.complaint_id "
+            + "where h.timestamp >= ? "
+            + "order by c.municipality_id, h.timestamp, h.id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.snapshots.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.snapshots.dir:snapshots}")
+    private String dir;
+
+    @Value("${app.snapshots.maxRowsPerFile:100000}")
+    private int maxRowsPerFile;
+
+    @Value("${app.snapshots.lookbackMinutes:60}")
+    private long lookbackMinutes;
+
+    @Value("${app.export.fetchSize:1000}")
+    private int fetchSize;
+
+    @Scheduled(cron = "${app.snapshots.cron:0 0 2 * * *}")
+    public void scheduledSnapshot() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            logger.error("Snapshot run failed; the next run will retry from the previous watermark", e);
+        }
+    }
+
+    public synchronized void snapshot() throws IOException {
+        Path root = Paths.get(dir);
+        Files.createDirectories(root);
+        Properties watermarks = loadWatermarks(root);
+        String runId = RUN_ID.format(Instant.now());
+        long start = System.currentTimeMillis();
+
+        long complaints = snapshotTable(root, "complaints", COMPLAINTS_SQL, COMPLAINT_COLUMNS, 9, watermarks, runId);
+        long history = snapshotTable(root, "status_history", HISTORY_SQL, HISTORY_COLUMNS, 2, watermarks, runId);
+
+        storeWatermarks(root, watermarks);
+        logger.info("Snapshot {} wrote {} complaints and {} status history rows to {} in {} ms", runId, complaints,
+                history, root.toAbsolutePath(), System.currentTimeMillis() - start);
+    }
+
+    private long snapshotTable(Path root, String table, String sql, List<SnapshotFile.Column> columns,
+            int municipalityColumn, Properties watermarks, String runId) throws IOException {
+        Timestamp watermark = Timestamp.valueOf(watermarks.getProperty(table + ".time", "1970-01-01 00:00:00"));
+        long lookbackMicros = TimeUnit.MINUTES.toMicros(lookbackMinutes);
+        Timestamp since = new Timestamp(watermark.getTime() - TimeUnit.MINUTES.toMillis(lookbackMinutes));
+        Map<Long, Long> seen = loadSeen(root, table);
+
+        Partition[] current = new Partition[1];
+        long[] latest = { micros(watermark) };
+        long[] rows = { 0 };
+
+        // Read-only transaction so the routing DataSource may serve it from a replica
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        try {
+            transaction.executeWithoutResult(status -> {
+                JdbcTemplate cursor = new JdbcTemplate(jdbcTemplate.getDataSource());
+                cursor.setFetchSize(fetchSize);
+                cursor.query(sql, rs -> {
+                    Timestamp changedAt = rs.getTimestamp(columns.size() + 1);
+                    long id = rs.getLong(columns.size() + 2);
+                    long changedMicros = micros(changedAt);
+                    if (Objects.equals(seen.get(id), changedMicros)) {
+                        return; // Written by an earlier run whose window overlaps this one
+                    }
+
+                    Object[] values = readRow(rs, columns);
+                    PartitionKey key = new PartitionKey(table, (Long) values[municipalityColumn],
+                            changedAt.toInstant().atZone(ZoneOffset.UTC).toLocalDate());
+                    try {
+                        // Ordered by municipality then time, so a new key means the previous partition is complete
+                        if (current[0] == null || !current[0].key.equals(key)) {
+                            if (current[0] != null) {
+                                current[0].close();
+                            }
+                            current[0] = new Partition(key);
+                        }
+                        current[0].add(root, columns, values, runId);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    latest[0] = Math.max(latest[0], changedMicros);
+                    // Versions already older than the window can never be read again; don't hold them
+                    if (changedMicros >= latest[0] - lookbackMicros) {
+                        seen.put(id, changedMicros);
+                    }
+                    rows[0]++;
+                }, since);
+            });
+            if (current[0] != null) {
+                current[0].close();
+            }
+        } catch (IOException | RuntimeException e) {
+            if (current[0] != null) {
+                current[0].abort();
+            }
+            throw e;
+        }
+        // Only versions the next window can return again need remembering
+        long keepFrom = latest[0] - lookbackMicros;
+        seen.values().removeIf(changedMicros -> changedMicros < keepFrom);
+        storeSeen(root, table, seen);
+        watermarks.setProperty(table + ".time", fromMicros(latest[0]).toString());
+        watermarks.remove(table + ".id");
+        return rows[0];
+    }
+
+    private static long micros(Timestamp timestamp) {
+        return TimeUnit.SECONDS.toMicros(Math.floorDiv(timestamp.getTime(), 1000)) + timestamp.getNanos() / 1000;
+    }
+
+    private static Timestamp fromMicros(long micros) {
+        Timestamp timestamp = new Timestamp(Math.floorDiv(micros, 1_000_000L) * 1000);
+        timestamp.setNanos((int) Math.floorMod(micros, 1_000_000L) * 1000);
+        return timestamp;
+    }
+
+    private static Object[] readRow(ResultSet rs, List<SnapshotFile.Column> columns) throws SQLException {
+        Object[] values = new Object[columns.size()];
+        for (int i = 0; i < values.length; i++) {
+            switch (columns.get(i).getType()) {
+                case LONG:
+                    long l = rs.getLong(i + 1);
+                    values[i] = rs.wasNull() ? null : l;
+                    break;
+                case DOUBLE:
+                    double d = rs.getDouble(i + 1);
+                    values[i] = rs.wasNull() ? null : d;
+                    break;
+                case TIMESTAMP:
+                    values[i] = rs.getTimestamp(i + 1);
+                    break;
+                case STRING:
+                    values[i] = rs.getString(i + 1);
+                    break;
+            }
+        }
+        return values;
+    }
+
+    static Path partitionDir(Path root, String table, Long municipalityId, LocalDate date) {
+        return root.resolve(table)
+                .resolve("municipality=" + (municipalityId == null ? "none" : municipalityId))
+                .resolve("date=" + date);
+    }
+
+    private static Properties loadWatermarks(Path root) throws IOException {
+        Properties watermarks = new Properties();
+        Path file = root.resolve(WATERMARK_FILE);
+        if (Files.exists(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                watermarks.load(in);
+            }
+        }
+        return watermarks;
+    }
+
+    // One "id changeTimeMicros" line per row version written within the lookback window
+    private static Map<Long, Long> loadSeen(Path root, String table) throws IOException {
+        Map<Long, Long> seen = new HashMap<>();
+        Path file = root.resolve("_seen-" + table + ".txt");
+        if (!Files.exists(file)) {
+            return seen;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int space = line.indexOf(' ');
+                if (space > 0) {
+                    seen.put(Long.parseLong(line.substring(0, space)), Long.parseLong(line.substring(space + 1)));
+                }
+            }
+        }
+        return seen;
+    }
+
+    private static void storeSeen(Path root, String table, Map<Long, Long> seen) throws IOException {
+        Path file = root.resolve("_seen-" + table + ".txt");
+        Path tmp = root.resolve("_seen-" + table + ".txt.tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            for (Map.Entry<Long, Long> entry : seen.entrySet()) {
+                writer.write(entry.getKey() + " " + entry.getValue());
+                writer.newLine();
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void storeWatermarks(Path root, Properties watermarks) throws IOException {
+        Path file = root.resolve(WATERMARK_FILE);
+        Path tmp = root.resolve(WATERMARK_FILE + ".tmp");
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            watermarks.store(out, "Latest change time snapshotted per table");
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Rows of one partition; starts a new part file every maxRowsPerFile rows
+    private class Partition {
+        final PartitionKey key;
+        SnapshotWriter writer;
+        int part;
+
+        Partition(PartitionKey key) {
+            this.key = key;
+        }
+
+        void add(Path root, List<SnapshotFile.Column> columns, Object[] values, String runId) throws IOException {
+            if (writer == null) {
+                Path file = partitionDir(root, key.table, key.municipalityId, key.date)
+                        .resolve(String.format("part-%s-%04d%s", runId, part++, SnapshotFile.EXTENSION));
+                writer = new SnapshotWriter(file, key.table, columns);
+            }
+            writer.write(values);
+            if (writer.getRowCount() >= maxRowsPerFile) {
+                close();
+            }
+        }
+
+        void close() throws IOException {
+            if (writer != null) {
+                writer.close();
+                writer = null;
+            }
+        }
+
+        void abort() {
+            if (writer != null) {
+                writer.abort();
+                writer = null;
+            }
+        }
+    }
+
+    private static class PartitionKey {
+        final String table;
+        final Long municipalityId;
+        final LocalDate date;
+
+        PartitionKey(String table, Long municipalityId, LocalDate date) {
+            this.table = table;
+            this.municipalityId = municipalityId;
+            this.date = date;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof PartitionKey))
+                return false;
+            PartitionKey other = (PartitionKey) o;
+            return table.equals(other.table) && Objects.equals(municipalityId, other.municipalityId)
+                    && date.equals(other.date);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(table, municipalityId, date);
+        }
+    }
+}
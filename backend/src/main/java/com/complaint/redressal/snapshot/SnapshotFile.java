@@ -0,0 +1,64 @@
+package com.complaint.redressal.snapshot;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.apache.parquet.schema.Types;
+
+import java.util.List;
+
+/**
+ * Layout of the snapshot files: Parquet, one optional column per field,
+ * Snappy-compressed column chunks. Spark, DuckDB, pandas and Trino read them
+ * directly and can skip columns and row groups they don't need. Longs are
+ * INT64, doubles DOUBLE, strings UTF-8 BINARY and timestamps INT64
+ * microseconds since the epoch, adjusted to UTC.
+ */
+public final class SnapshotFile {
+    public static final String EXTENSION = ".parquet";
+
+    private SnapshotFile() {
+    }
+
+    public enum Type {
+        LONG,
+        DOUBLE,
+        STRING,
+        TIMESTAMP
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Column {
+        private String name;
+        private Type type;
+    }
+
+    public static MessageType schema(String table, List<Column> columns) {
+        Types.MessageTypeBuilder builder = Types.buildMessage();
+        for (Column column : columns) {
+            switch (column.getType()) {
+                case LONG:
+                    builder.optional(PrimitiveTypeName.INT64).named(column.getName());
+                    break;
+                case DOUBLE:
+                    builder.optional(PrimitiveTypeName.DOUBLE).named(column.getName());
+                    break;
+                case STRING:
+                    builder.optional(PrimitiveTypeName.BINARY).as(LogicalTypeAnnotation.stringType())
+                            .named(column.getName());
+                    break;
+                case TIMESTAMP:
+                    builder.optional(PrimitiveTypeName.INT64)
+                            .as(LogicalTypeAnnotation.timestampType(true, LogicalTypeAnnotation.TimeUnit.MICROS))
+                            .named(column.getName());
+                    break;
+            }
+        }
+        return builder.named(table);
+    }
+}
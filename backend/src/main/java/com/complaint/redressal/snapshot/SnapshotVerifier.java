@@ -0,0 +1,120 @@
+package com.complaint.redressal.snapshot;
+
+import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.conf.PlainParquetConfiguration;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.convert.GroupRecordConverter;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.io.ColumnIOFactory;
+import org.apache.parquet.io.LocalInputFile;
+import org.apache.parquet.io.RecordReader;
+import org.apache.parquet.schema.MessageType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Reader-side check of a snapshot directory: opens every .parquet file,
+ * decodes every row group with page checksums verified (which catches
+ * truncated or corrupt files) and checks that the row count matches the footer
+ * and the partition path matches the rows inside. Prints per-partition totals and
+ * exits non-zero if any file is bad. Run against the packaged jar with
+ *
+ * <pre>
+ * java -cp backend.jar -Dloader.main=com.complaint.redressal.snapshot.SnapshotVerifier \
+ *     org.springframework.boot.loader.PropertiesLauncher snapshots
+ * </pre>
+ */
+public class SnapshotVerifier {
+
+    public static void main(String[] args) throws IOException {
+        Path root = Paths.get(args.length > 0 ? args[0] : "snapshots");
+        if (!Files.isDirectory(root)) {
+            System.err.println("Not a directory: " + root);
+            System.exit(2);
+        }
+
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(root)) {
+            files = walk.filter(p -> p.getFileName().toString().endsWith(SnapshotFile.EXTENSION))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+
+        Map<String, Long> rowsByPartition = new TreeMap<>();
+        int failures = 0;
+        for (Path file : files) {
+            try {
+                long rows = verify(root, file);
+                rowsByPartition.merge(root.relativize(file.getParent()).toString(), rows, Long::sum);
+            } catch (IOException | RuntimeException e) {
+                failures++;
+                System.err.println("FAILED " + root.relativize(file) + ": " + e.getMessage());
+            }
+        }
+
+        rowsByPartition.forEach((partition, rows) -> System.out.println(partition + "\t" + rows));
+        System.out.println(files.size() + " files, "
+                + rowsByPartition.values().stream().mapToLong(Long::longValue).sum() + " rows, "
+                + failures + " failed");
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    // Returns the row count of a good file, throws otherwise
+    static long verify(Path root, Path file) throws IOException {
+        // Path is {table}/municipality={id}/date={date}/part-*.parquet
+        Path relative = root.relativize(file);
+        if (relative.getNameCount() != 4) {
+            throw new IOException("File is outside its table directory");
+        }
+        String municipality = relative.getName(1).toString().substring("municipality=".length());
+
+        ParquetReadOptions options = ParquetReadOptions.builder(new PlainParquetConfiguration())
+                .usePageChecksumVerification(true)
+                .build();
+        Set<String> found = new HashSet<>();
+        Set<Long> ids = new HashSet<>();
+        long rows = 0;
+        try (ParquetFileReader reader = ParquetFileReader.open(new LocalInputFile(file), options)) {
+            MessageType schema = reader.getFooter().getFileMetaData().getSchema();
+            if (!schema.containsField("id") || !schema.containsField("municipalityId")) {
+                throw new IOException("Missing id or municipalityId column");
+            }
+            long expected = reader.getRecordCount();
+            PageReadStore rowGroup;
+            while ((rowGroup = reader.readNextRowGroup()) != null) {
+                RecordReader<Group> records = new ColumnIOFactory().getColumnIO(schema)
+                        .getRecordReader(rowGroup, new GroupRecordConverter(schema));
+                for (long i = 0; i < rowGroup.getRowCount(); i++) {
+                    Group row = records.read();
+                    found.add(row.getFieldRepetitionCount("municipalityId") == 0 ? "none"
+                            : Long.toString(row.getLong("municipalityId", 0)));
+                    if (row.getFieldRepetitionCount("id") == 0 || !ids.add(row.getLong("id", 0))) {
+                        throw new IOException("Missing or duplicate ids within one file");
+                    }
+                    rows++;
+                }
+            }
+            if (rows != expected) {
+                throw new IOException("Read " + rows + " rows but the footer records " + expected);
+            }
+        }
+
+        if (!found.isEmpty() && !found.equals(Set.of(municipality))) {
+            throw new IOException("Rows of municipalities " + found + " in partition municipality=" + municipality);
+        }
+        return rows;
+    }
+}
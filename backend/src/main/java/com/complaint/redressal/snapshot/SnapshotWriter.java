@@ -0,0 +1,104 @@
+package com.complaint.redressal.snapshot;
+
+import org.apache.parquet.conf.PlainParquetConfiguration;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.hadoop.ParquetFileWriter;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.example.ExampleParquetWriter;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.io.LocalOutputFile;
+import org.apache.parquet.schema.MessageType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Streams rows into one Parquet snapshot file. Rows are buffered column by
+ * column up to ROW_GROUP_BYTES and then flushed as a row group, so memory use
+ * does not depend on the file size. The file is written under a hidden
+ * temporary name and renamed on close, so readers never see a partial file.
+ */
+public class SnapshotWriter implements AutoCloseable {
+    static final int ROW_GROUP_BYTES = 16 * 1024 * 1024;
+
+    private final Path file;
+    private final Path tmp;
+    private final List<SnapshotFile.Column> columns;
+    private final SimpleGroupFactory rows;
+    private final ParquetWriter<Group> writer;
+    private long rowCount;
+
+    public SnapshotWriter(Path file, String table, List<SnapshotFile.Column> columns) throws IOException {
+        Files.createDirectories(file.getParent());
+        this.file = file;
+        this.tmp = file.resolveSibling("." + file.getFileName() + ".tmp");
+        this.columns = columns;
+        MessageType schema = SnapshotFile.schema(table, columns);
+        this.rows = new SimpleGroupFactory(schema);
+        this.writer = ExampleParquetWriter.builder(new LocalOutputFile(tmp))
+                .withConf(new PlainParquetConfiguration())
+                .withType(schema)
+                .withCompressionCodec(CompressionCodecName.SNAPPY)
+                .withRowGroupSize(ROW_GROUP_BYTES)
+                .withWriteMode(ParquetFileWriter.Mode.OVERWRITE)
+                .build();
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public void write(Object[] values) throws IOException {
+        Group row = rows.newGroup();
+        for (int i = 0; i < columns.size(); i++) {
+            SnapshotFile.Column column = columns.get(i);
+            Object value = values[i];
+            if (value == null) {
+                continue; // Optional columns are null when left unset
+            }
+            switch (column.getType()) {
+                case LONG:
+                    row.append(column.getName(), ((Number) value).longValue());
+                    break;
+                case DOUBLE:
+                    row.append(column.getName(), ((Number) value).doubleValue());
+                    break;
+                case TIMESTAMP:
+                    Timestamp timestamp = (Timestamp) value;
+                    row.append(column.getName(), Math.floorDiv(timestamp.getTime(), 1000) * 1_000_000L
+                            + timestamp.getNanos() / 1000);
+                    break;
+                case STRING:
+                    row.append(column.getName(), value.toString());
+                    break;
+            }
+        }
+        writer.write(row);
+        rowCount++;
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close(); // Flushes the last row group and writes the footer
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Drops the partial file after a failed run
+    public void abort() {
+        try {
+            writer.close();
+        } catch (IOException | RuntimeException e) {
+            // Already failing; the temporary file is removed below either way
+        }
+        try {
+            Files.deleteIfExists(tmp);
+        } catch (IOException e) {
+            // Hidden .tmp files are ignored by readers
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.complaint.redressal.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over strings. mightContain never answers false for
+ * a value that was added; it answers true for an absent value at roughly the
+ * configured rate while no more than expectedInsertions values are added.
+ * Bits live in an AtomicLongArray, so adds and lookups need no lock.
+ */
+public class BloomFilter {
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("expectedInsertions must be >= 1 and falsePositiveRate in (0, 1)");
+        }
+        // Optimal size m = -n ln p / (ln 2)^2 and hash count k = m / n ln 2
+        double bits = -expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (long) Math.ceil(bits / 64)));
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount * 64;
+        this.hashCount = (int) Math.max(1, Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    }
+
+    public void add(String value) {
+        long hash = hash(value);
+        long h1 = hash;
+        long h2 = mix(hash ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = ((h1 + i * h2) & Long.MAX_VALUE) % bitCount;
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long word;
+            while (((word = words.get(index)) & mask) == 0 && !words.compareAndSet(index, word, word | mask)) {
+                // Lost a race with another add to the same word; retry
+            }
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        long h1 = hash;
+        long h2 = mix(hash ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = ((h1 + i * h2) & Long.MAX_VALUE) % bitCount;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getBitCount() {
+        return bitCount;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    // 64-bit FNV-1a over the UTF-16 chars, then a finalizer to spread the bits
+    private static long hash(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    // MurmurHash3 fmix64
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,85 @@
+package com.complaint.redressal.util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 reader: quoted fields may contain separators, doubled
+ * quotes and line breaks. Records are read one at a time, so input size does
+ * not matter.
+ */
+public class CsvReader implements Closeable {
+    private final Reader in;
+    private int peeked = -2;
+
+    public CsvReader(Reader in) {
+        this.in = in instanceof BufferedReader ? in : new BufferedReader(in, 64 * 1024);
+    }
+
+    // Null at end of input
+    public List<String> readRecord() throws IOException {
+        int c = read();
+        if (c < 0) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c < 0) {
+                    throw new IOException("Unterminated quoted field");
+                }
+                if (c == '"') {
+                    if (peek() == '"') {
+                        read();
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c < 0) {
+                if (c == '\r' && peek() == '\n') {
+                    read();
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (peeked != -2) {
+            int c = peeked;
+            peeked = -2;
+            return c;
+        }
+        return in.read();
+    }
+
+    private int peek() throws IOException {
+        if (peeked == -2) {
+            peeked = in.read();
+        }
+        return peeked;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,78 @@
+package com.complaint.redressal.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Small bounded LRU map with hit/miss counters. Access is synchronized, which is
+ * fine for the short critical sections it is used for.
+ */
+public class LruCache<K, V> {
+    private final Map<K, V> map;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public LruCache(int maxSize) {
+        this.map = new LinkedHashMap<K, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public V get(K key) {
+        V value;
+        synchronized (map) {
+            value = map.get(key);
+        }
+        (value != null ? hits : misses).incrementAndGet();
+        return value;
+    }
+
+    public void put(K key, V value) {
+        synchronized (map) {
+            map.put(key, value);
+        }
+    }
+
+    // The loader runs outside the lock; concurrent misses may compute the same value twice
+    public V computeIfAbsent(K key, Function<K, V> loader) {
+        V value = get(key);
+        if (value == null) {
+            value = loader.apply(key);
+            if (value != null) {
+                put(key, value);
+            }
+        }
+        return value;
+    }
+
+    public void remove(K key) {
+        synchronized (map) {
+            map.remove(key);
+        }
+    }
+
+    public void clear() {
+        synchronized (map) {
+            map.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (map) {
+            return map.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+}
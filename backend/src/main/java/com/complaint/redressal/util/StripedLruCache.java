@@ -0,0 +1,79 @@
+package com.complaint.redressal.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded LRU map split into independently locked stripes, for caches read on
+ * every request where a single LruCache lock would serialize the threads. Each
+ * stripe holds maxSize / stripes entries and evicts its own least recently
+ * used entry, so eviction is only approximately LRU across the whole map.
+ */
+public class StripedLruCache<K, V> {
+    private final Map<K, V>[] stripes;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public StripedLruCache(int maxSize, int stripeCount) {
+        int perStripe = Math.max(1, (maxSize + stripeCount - 1) / stripeCount);
+        this.stripes = new Map[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new LinkedHashMap<K, V>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                    return size() > perStripe;
+                }
+            };
+        }
+    }
+
+    public V get(K key) {
+        Map<K, V> stripe = stripe(key);
+        V value;
+        synchronized (stripe) {
+            value = stripe.get(key);
+        }
+        (value != null ? hits : misses).increment();
+        return value;
+    }
+
+    public void put(K key, V value) {
+        Map<K, V> stripe = stripe(key);
+        synchronized (stripe) {
+            stripe.put(key, value);
+        }
+    }
+
+    public void remove(K key) {
+        Map<K, V> stripe = stripe(key);
+        synchronized (stripe) {
+            stripe.remove(key);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Map<K, V> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private Map<K, V> stripe(K key) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16; // Spread high bits, as HashMap does
+        return stripes[Math.floorMod(hash, stripes.length)];
+    }
+}
@@ -0,0 +1,156 @@
+package com.complaint.redressal.geo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point-to-municipality lookup as done by MunicipalityBoundaryIndex.locate:
+ * the STR-tree against checking every polygon in turn, and against the
+ * nearest-centre scan that ComplaintService.assignMunicipality used before
+ * (its calculateDistance loop, run over every centre rather than three). The
+ * k-d tree over centres is locate's fallback for points outside every
+ * boundary. Municipalities are 24-vertex irregular polygons tiling a square
+ * region; probes are uniform over it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StrTreeBenchmark {
+    private static final int VERTICES = 24;
+    private static final int PROBES = 1024;
+
+    @Param({ "3", "100", "1000", "10000" })
+    private int municipalities;
+
+    private List<GeoPolygon> polygons;
+    private StrTree<GeoPolygon> tree;
+    private double[][] centres;
+    private KdTree<double[]> centreTree;
+    private double[] probeLats;
+    private double[] probeLons;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        int side = (int) Math.ceil(Math.sqrt(municipalities));
+        double cell = 0.1; // Roughly 11 km, a town-sized municipality
+        polygons = new ArrayList<>(municipalities);
+        StrTree.Builder<GeoPolygon> builder = StrTree.builder();
+        centres = new double[municipalities][];
+        for (int i = 0; i < municipalities; i++) {
+            double centreLat = 8 + (i / side + 0.5) * cell;
+            double centreLon = 76 + (i % side + 0.5) * cell;
+            centres[i] = new double[] { centreLat, centreLon };
+            double[] lats = new double[VERTICES];
+            double[] lons = new double[VERTICES];
+            for (int v = 0; v < VERTICES; v++) {
+                double angle = 2 * Math.PI * v / VERTICES;
+                double radius = cell * (0.4 + 0.1 * random.nextDouble());
+                lats[v] = centreLat + radius * Math.sin(angle);
+                lons[v] = centreLon + radius * Math.cos(angle);
+            }
+            GeoPolygon polygon = new GeoPolygon(new double[][] { lats }, new double[][] { lons });
+            polygons.add(polygon);
+            builder.add(polygon.getMinLat(), polygon.getMinLon(), polygon.getMaxLat(), polygon.getMaxLon(), polygon);
+        }
+        tree = builder.build();
+        centreTree = KdTree.build(List.of(centres), new KdTree.Coordinates<double[]>() {
+            @Override
+            public double latitude(double[] centre) {
+                return centre[0];
+            }
+
+            @Override
+            public double longitude(double[] centre) {
+                return centre[1];
+            }
+        });
+
+        probeLats = new double[PROBES];
+        probeLons = new double[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            probeLats[i] = 8 + random.nextDouble() * side * cell;
+            probeLons[i] = 76 + random.nextDouble() * side * cell;
+        }
+    }
+
+    @Benchmark
+    public GeoPolygon strTree() {
+        int i = next++ & (PROBES - 1);
+        double lat = probeLats[i];
+        double lon = probeLons[i];
+        GeoPolygon[] hit = new GeoPolygon[1];
+        tree.query(lat, lon, polygon -> {
+            if (hit[0] == null && polygon.contains(lat, lon)) {
+                hit[0] = polygon;
+            }
+        });
+        return hit[0];
+    }
+
+    @Benchmark
+    public GeoPolygon linearScan() {
+        int i = next++ & (PROBES - 1);
+        double lat = probeLats[i];
+        double lon = probeLons[i];
+        for (GeoPolygon polygon : polygons) {
+            if (polygon.contains(lat, lon)) {
+                return polygon;
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public double[] nearestCentre() {
+        int i = next++ & (PROBES - 1);
+        double lat = probeLats[i];
+        double lon = probeLons[i];
+        double[] nearest = null;
+        double best = Double.MAX_VALUE;
+        for (double[] centre : centres) {
+            double dist = calculateDistance(lat, lon, centre[0], centre[1]);
+            if (dist < best) {
+                best = dist;
+                nearest = centre;
+            }
+        }
+        return nearest;
+    }
+
+    @Benchmark
+    public double[] kdTreeCentre() {
+        int i = next++ & (PROBES - 1);
+        return centreTree.nearest(probeLats[i], probeLons[i]).getItem();
+    }
+
+    // The removed ComplaintService.calculateDistance, unchanged
+    private static double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
+        double theta = lon1 - lon2;
+        double dist = Math.sin(Math.toRadians(lat1)) * Math.sin(Math.toRadians(lat2))
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.cos(Math.toRadians(theta));
+        dist = Math.acos(dist);
+        dist = Math.toDegrees(dist);
+        dist = dist * 60 * 1.1515;
+        return (dist * 1.609344); // Kilometers
+    }
+}
@@ -0,0 +1,131 @@
+package com.complaint.redressal.security.jwt;
+
+import com.complaint.redressal.security.services.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request token handling in AuthTokenFilter, for TOKENS signed-in
+ * principals: building a parser for every token as before, the parser built
+ * once, and JwtUtils with the parser plus the verified-token cache (every
+ * token is cached after the first round). Each runs on one thread and on
+ * THREADS threads sharing the JwtUtils, which is where contention on the
+ * cache's locks would show; compare the concurrent times against the
+ * single-threaded ones on a machine with at least THREADS cores. sha256 is
+ * the cache's lookup-key cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilsBenchmark {
+    // Same secret as application.properties
+    private static final String SECRET = "SecretKeyToGenJWTsThisShouldBeLongAndSecureEnoughToNotBeGuessedEasily";
+    private static final int TOKENS = 1024;
+    private static final int THREADS = 8;
+
+    private JwtUtils jwtUtils;
+    private JwtParser parser;
+    private String[] tokens;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+
+        int next() {
+            return next++ & (TOKENS - 1);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 86_400_000);
+        ReflectionTestUtils.setField(jwtUtils, "verifiedCacheSize", 10_000);
+        ReflectionTestUtils.setField(jwtUtils, "verifiedCacheStripes", 16);
+        jwtUtils.init();
+        parser = (JwtParser) ReflectionTestUtils.getField(jwtUtils, "parser");
+
+        List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        tokens = new String[TOKENS];
+        for (int i = 0; i < TOKENS; i++) {
+            UserDetailsImpl principal = new UserDetailsImpl(i + 1L, "citizen" + i, null, null, authorities, null,
+                    null, true, 0);
+            tokens[i] = jwtUtils.generateJwtToken(new UsernamePasswordAuthenticationToken(principal, null,
+                    authorities));
+        }
+    }
+
+    @Benchmark
+    public Claims parserPerToken(Cursor cursor) {
+        return parsePerToken(tokens[cursor.next()]);
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    public Claims parserPerTokenConcurrent(Cursor cursor) {
+        return parsePerToken(tokens[cursor.next()]);
+    }
+
+    @Benchmark
+    public Claims cachedParser(Cursor cursor) {
+        return parser.parseClaimsJws(tokens[cursor.next()]).getBody();
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    public Claims cachedParserConcurrent(Cursor cursor) {
+        return parser.parseClaimsJws(tokens[cursor.next()]).getBody();
+    }
+
+    @Benchmark
+    public UserDetailsImpl verifiedCache(Cursor cursor) {
+        return jwtUtils.getUserDetailsFromJwtToken(tokens[cursor.next()]);
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    public UserDetailsImpl verifiedCacheConcurrent(Cursor cursor) {
+        return jwtUtils.getUserDetailsFromJwtToken(tokens[cursor.next()]);
+    }
+
+    @Benchmark
+    public byte[] sha256(Cursor cursor) throws NoSuchAlgorithmException {
+        return MessageDigest.getInstance("SHA-256").digest(tokens[cursor.next()].getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static Claims parsePerToken(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
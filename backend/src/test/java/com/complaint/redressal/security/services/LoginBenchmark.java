@@ -0,0 +1,75 @@
+package com.complaint.redressal.security.services;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a sign-in's password check at each app.auth.bcryptStrength, alone
+ * and as a burst of BURST logins through LoginExecutor sized like production
+ * (one thread per core). The burst time over BURST is the per-login cost the
+ * server can sustain; it only drops below matches with more than one core.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoginBenchmark {
+    private static final int BURST = 16;
+    private static final String PASSWORD = "admin123";
+
+    @Param({ "8", "10", "12" })
+    private int strength;
+
+    private BCryptPasswordEncoder encoder;
+    private String hash;
+    private LoginExecutor loginExecutor;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(strength);
+        hash = encoder.encode(PASSWORD);
+
+        loginExecutor = new LoginExecutor();
+        ReflectionTestUtils.setField(loginExecutor, "threads", 0);
+        ReflectionTestUtils.setField(loginExecutor, "queueCapacity", BURST);
+        loginExecutor.init();
+    }
+
+    @TearDown
+    public void tearDown() {
+        loginExecutor.shutdown();
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches(PASSWORD, hash);
+    }
+
+    @Benchmark
+    public boolean burstOnLoginPool() {
+        @SuppressWarnings("unchecked")
+        CompletableFuture<Boolean>[] logins = new CompletableFuture[BURST];
+        for (int i = 0; i < BURST; i++) {
+            logins[i] = loginExecutor.submit(() -> encoder.matches(PASSWORD, hash));
+        }
+        CompletableFuture.allOf(logins).join();
+        return logins[BURST - 1].join();
+    }
+}
@@ -0,0 +1,282 @@
+package com.complaint.redressal.service;
+
+import com.complaint.redressal.model.Complaint;
+import com.complaint.redressal.model.ComplaintCategory;
+import com.complaint.redressal.model.ComplaintStatus;
+import com.complaint.redressal.model.Department;
+import com.complaint.redressal.model.Municipality;
+import com.complaint.redressal.model.User;
+import com.complaint.redressal.repository.AdminRepository;
+import com.complaint.redressal.repository.ComplaintRepository;
+import com.complaint.redressal.repository.DepartmentRepository;
+import com.complaint.redressal.repository.MunicipalityRepository;
+import com.complaint.redressal.repository.UserRepository;
+import com.complaint.redressal.security.services.UserDetailsImpl;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Statements per request for every complaint read endpoint, counted at the
+ * DataSource so JdbcTemplate reads count as well as Hibernate's. Listings load
+ * user, department and municipality with the rows (Complaint.detail entity
+ * graph); those associations are eager, so one missing from a query shows up
+ * here as extra selects per row. Each request is made once to fill the
+ * account and reference caches, then counted on the second call. Runs against
+ * in-memory H2.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:statement_count;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "app.snapshots.enabled=false",
+        "app.archive.enabled=false"
+})
+@AutoConfigureMockMvc
+class ComplaintListingStatementCountTest {
+    private static final int COMPLAINTS = 20;
+    private static final double LAT = 13.0418;
+    private static final double LON = 80.2341;
+
+    private static final AtomicInteger STATEMENTS = new AtomicInteger();
+
+    @TestConfiguration
+    static class StatementCounting {
+        @Bean
+        static BeanPostProcessor countingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource ? counting((DataSource) bean) : bean;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ComplaintSearchService complaintSearchService;
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private MunicipalityRepository municipalityRepository;
+
+    private UsernamePasswordAuthenticationToken citizen;
+    private UsernamePasswordAuthenticationToken superAdmin;
+    private Long complaintId;
+
+    @BeforeEach
+    void setUp() {
+        // The context, and so the database, is shared by the tests of this class
+        User firstUser = userRepository.findByUsername("listing0").orElse(null);
+        if (firstUser == null) {
+            firstUser = seed();
+        }
+        citizen = authenticated(UserDetailsImpl.build(firstUser));
+        superAdmin = authenticated(UserDetailsImpl.build(adminRepository.findByUsername("suberAD").orElseThrow()));
+        complaintId = complaintRepository.findAll().get(0).getId();
+    }
+
+    // A distinct user, department and municipality per complaint, so a missed association costs a select per row
+    private User seed() {
+        User firstUser = null;
+        for (int i = 0; i < COMPLAINTS; i++) {
+            User user = new User();
+            user.setUsername("listing" + i);
+            user.setEmail("listing" + i + "@example.com");
+            user.setPassword("x");
+            user.setFullName("Listing " + i);
+            userRepository.save(user);
+            if (i == 0) {
+                firstUser = user;
+            }
+            Department department = departmentRepository.save(new Department("Listing department " + i));
+            Municipality municipality = municipalityRepository.save(new Municipality("Listing town " + i, "Test"));
+
+            Complaint complaint = new Complaint();
+            complaint.setTitle("Pothole " + i);
+            complaint.setDescription("Statement count fixture");
+            complaint.setCategory(ComplaintCategory.ROAD);
+            complaint.setStatus(ComplaintStatus.PENDING);
+            complaint.setLatitude(LAT + i * 0.0001); // 11 m apart, all within the first 250 m nearby ring
+            complaint.setLongitude(LON);
+            complaint.setUser(i % 2 == 0 ? firstUser : user);
+            complaint.setAssignedDepartment(department);
+            complaint.setMunicipality(municipality);
+            complaintRepository.save(complaint);
+        }
+        // Saved around ComplaintService, so no change events reached the index
+        complaintSearchService.rebuild();
+        return firstUser;
+    }
+
+    @Test
+    void userListingIsOneStatement() throws Exception {
+        assertThat(statements(get("/api/complaints/my").with(authentication(citizen)))).isEqualTo(1);
+    }
+
+    @Test
+    void userNextPageIsOneStatement() throws Exception {
+        String cursor = nextCursor(get("/api/complaints/my").param("limit", "3").with(authentication(citizen)));
+
+        assertThat(statements(get("/api/complaints/my").param("limit", "3").param("cursor", cursor)
+                .with(authentication(citizen)))).isEqualTo(1);
+    }
+
+    @Test
+    void adminListingIsOneStatement() throws Exception {
+        assertThat(statements(get("/api/admin/complaints").with(authentication(superAdmin)))).isEqualTo(1);
+    }
+
+    @Test
+    void adminNextPageIsOneStatement() throws Exception {
+        String cursor = nextCursor(get("/api/admin/complaints").param("limit", "5").with(authentication(superAdmin)));
+
+        assertThat(statements(get("/api/admin/complaints").param("limit", "5").param("cursor", cursor)
+                .with(authentication(superAdmin)))).isEqualTo(1);
+    }
+
+    @Test
+    void complaintByIdIsOneStatement() throws Exception {
+        assertThat(statements(get("/api/complaints/{id}", complaintId).with(authentication(citizen)))).isEqualTo(1);
+    }
+
+    @Test
+    void complainantDetailsIsOneStatement() throws Exception {
+        assertThat(statements(get("/api/admin/complaints/{id}/complainant-details", complaintId)
+                .with(authentication(superAdmin)))).isEqualTo(1);
+    }
+
+    @Test
+    void searchIsOneStatement() throws Exception {
+        // Ranked in memory; only the page of hits is loaded
+        assertThat(statements(get("/api/admin/complaints/search").param("q", "pothole")
+                .with(authentication(superAdmin)))).isEqualTo(1);
+    }
+
+    @Test
+    void nearbyIsOneStatementPerCoveringCell() throws Exception {
+        // One candidate query per geohash cell of the ring, however many complaints match
+        int one = statements(get("/api/complaints/nearby").param("lat", String.valueOf(LAT))
+                .param("lon", String.valueOf(LON)).param("limit", "1").with(authentication(citizen)));
+        int all = statements(get("/api/complaints/nearby").param("lat", String.valueOf(LAT))
+                .param("lon", String.valueOf(LON)).param("limit", String.valueOf(COMPLAINTS))
+                .with(authentication(citizen)));
+
+        assertThat(one).isBetween(1, 16); // NearbyComplaintService.MAX_COVERING_CELLS
+        assertThat(all).isEqualTo(one);
+    }
+
+    @Test
+    void summaryIsOneStatement() throws Exception {
+        assertThat(statements(get("/api/admin/complaints/summary").with(authentication(superAdmin)))).isEqualTo(1);
+    }
+
+    @Test
+    void exportIsOneStatement() throws Exception {
+        assertThat(statements(get("/api/admin/complaints/export").with(authentication(superAdmin)))).isEqualTo(1);
+    }
+
+    @Test
+    void heatmapTileIsServedFromMemory() throws Exception {
+        assertThat(statements(get("/api/admin/heatmap/{z}/{x}/{y}", 0, 0, 0).with(authentication(superAdmin))))
+                .isZero();
+    }
+
+    private int statements(MockHttpServletRequestBuilder request) throws Exception {
+        perform(request);
+        STATEMENTS.set(0);
+        perform(request);
+        return STATEMENTS.get();
+    }
+
+    private MvcResult perform(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mvc.perform(request).andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            // Streaming bodies (the export) are written after the handler returns
+            result.getAsyncResult();
+            result = mvc.perform(asyncDispatch(result)).andReturn();
+        }
+        assertThat(result.getResponse().getStatus()).isEqualTo(200);
+        return result;
+    }
+
+    private String nextCursor(MockHttpServletRequestBuilder request) throws Exception {
+        JsonNode page = objectMapper.readTree(perform(request).getResponse().getContentAsString());
+        assertThat(page.path("hasMore").asBoolean()).isTrue();
+        return page.path("nextCursor").asText();
+    }
+
+    private static UsernamePasswordAuthenticationToken authenticated(UserDetailsImpl principal) {
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    private static DataSource counting(DataSource target) {
+        return (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(),
+                new Class<?>[] { DataSource.class }, (proxy, method, args) -> {
+                    Object result = invoke(target, method, args);
+                    return result instanceof Connection ? counting((Connection) result) : result;
+                });
+    }
+
+    private static Connection counting(Connection target) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.equals("prepareStatement") || name.equals("prepareCall")
+                            || name.equals("createStatement")) {
+                        STATEMENTS.incrementAndGet();
+                    }
+                    return invoke(target, method, args);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.complaint.redressal.service;
+
+import com.complaint.redressal.ComplaintRedressalApplication;
+import com.complaint.redressal.geo.GeoHash;
+import com.complaint.redressal.geo.GeoUtils;
+import com.complaint.redressal.model.Complaint;
+import com.complaint.redressal.model.ComplaintCategory;
+import com.complaint.redressal.model.ComplaintStatus;
+import com.complaint.redressal.payload.NearbyComplaint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NearbyComplaintService.findNearby (geohash prefix ranges, widening rings)
+ * against reading every complaint in the radius's bounding box and keeping
+ * the nearest. Boots the application on in-memory H2 and seeds complaints
+ * scattered over a 20 km square, so a 5 km radius holds thousands of rows
+ * while the nearest 20 sit within a few hundred metres.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NearbyComplaintServiceBenchmark {
+    private static final double CENTRE_LAT = 13.0418;
+    private static final double CENTRE_LON = 80.2341;
+    private static final double SPREAD_DEGREES = 0.18; // About 20 km
+    private static final double RADIUS_KM = 5;
+    private static final int LIMIT = 20;
+    private static final int PROBES = 256;
+    private static final double KM_PER_DEGREE_LAT = 111.32;
+
+    @Param({ "10000", "100000" })
+    private int complaints;
+
+    private ConfigurableApplicationContext context;
+    private NearbyComplaintService nearbyComplaintService;
+    private JdbcTemplate jdbcTemplate;
+    private double[] probeLats;
+    private double[] probeLons;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ComplaintRedressalApplication.class)
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:nearby_benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.show-sql=false",
+                        "--app.snapshots.enabled=false",
+                        "--app.archive.enabled=false",
+                        "--logging.level.root=WARN");
+        nearbyComplaintService = context.getBean(NearbyComplaintService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        Random random = new Random(42);
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<Object[]> rows = new ArrayList<>(complaints);
+        for (int i = 0; i < complaints; i++) {
+            double lat = CENTRE_LAT + (random.nextDouble() - 0.5) * SPREAD_DEGREES;
+            double lon = CENTRE_LON + (random.nextDouble() - 0.5) * SPREAD_DEGREES;
+            rows.add(new Object[] { "Complaint " + i, ComplaintCategory.ROAD.name(), ComplaintStatus.PENDING.name(),
+                    lat, lon, GeoHash.encode(lat, lon, Complaint.GEOHASH_PRECISION), now, now });
+        }
+        jdbcTemplate.batchUpdate("insert into complaints (title, category, status, latitude, longitude, geohash, "
+                + "created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?, ?)", rows);
+
+        probeLats = new double[PROBES];
+        probeLons = new double[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            probeLats[i] = CENTRE_LAT + (random.nextDouble() - 0.5) * SPREAD_DEGREES / 2;
+            probeLons[i] = CENTRE_LON + (random.nextDouble() - 0.5) * SPREAD_DEGREES / 2;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<NearbyComplaint> findNearby() {
+        int i = next++ & (PROBES - 1);
+        return nearbyComplaintService.findNearby(probeLats[i], probeLons[i], RADIUS_KM, null, LIMIT);
+    }
+
+    @Benchmark
+    public List<double[]> boundingBoxScan() {
+        int i = next++ & (PROBES - 1);
+        double lat = probeLats[i];
+        double lon = probeLons[i];
+        double dLat = RADIUS_KM / KM_PER_DEGREE_LAT;
+        double dLon = RADIUS_KM / (KM_PER_DEGREE_LAT * Math.cos(Math.toRadians(lat)));
+        List<double[]> matches = new ArrayList<>();
+        jdbcTemplate.query("select id, latitude, longitude from complaints "
+                + "where latitude between ? and ? and longitude between ? and ?", rs -> {
+                    double distance = GeoUtils.distanceKm(lat, lon, rs.getDouble(2), rs.getDouble(3));
+                    if (distance <= RADIUS_KM) {
+                        matches.add(new double[] { rs.getLong(1), distance });
+                    }
+                }, lat - dLat, lat + dLat, lon - dLon, lon + dLon);
+        matches.sort(Comparator.comparingDouble(m -> m[1]));
+        return matches.size() > LIMIT ? new ArrayList<>(matches.subList(0, LIMIT)) : matches;
+    }
+}
@@ -34,11 +34,16 @@ let DefaultIcon = L.icon({
 });
 L.Marker.prototype.options.icon = DefaultIcon;
 
+const PAGE_SIZE = 50;
+
 const AdminDashboard = () => {
     const [complaints, setComplaints] = useState([]);
     const [filterStatus, setFilterStatus] = useState('ALL');
     const [filterDepartment, setFilterDepartment] = useState('ALL');
+    const [summary, setSummary] = useState(null);
     const [loading, setLoading] = useState(true);
+    const [nextCursor, setNextCursor] = useState(null);
+    const [loadingMore, setLoadingMore] = useState(false);
     const [selectedMapComplaint, setSelectedMapComplaint] = useState(null);
     const [selectedImage, setSelectedImage] = useState(null);
     const [selectedDescription, setSelectedDescription] = useState(null);
@@ -47,13 +52,26 @@ const AdminDashboard = () => {
 
     useEffect(() => {
         loadComplaints();
-    }, []);
+    }, [filterStatus, filterDepartment]);
+
+    // Filters are applied by the server; the listing is keyset-paged newest first
+    const pageParams = (cursor) => ({
+        limit: PAGE_SIZE,
+        cursor: cursor || undefined,
+        status: filterStatus === 'ALL' ? undefined : filterStatus,
+        category: filterDepartment === 'ALL' ? undefined : filterDepartment
+    });
 
     const loadComplaints = async () => {
         setLoading(true);
         try {
-            const response = await ComplaintService.getAllComplaintsAdmin();
-            setComplaints(response.data);
+            const [response, summaryResponse] = await Promise.all([
+                ComplaintService.getAllComplaintsAdmin(pageParams()),
+                ComplaintService.getComplaintSummaryAdmin()
+            ]);
+            setComplaints(response.data.items);
+            setNextCursor(response.data.hasMore ? response.data.nextCursor : null);
+            setSummary(summaryResponse.data);
         } catch (error) {
             toast.error("Failed to load complaints");
         } finally {
@@ -61,6 +79,19 @@ const AdminDashboard = () => {
         }
     };
 
+    const loadMore = async () => {
+        setLoadingMore(true);
+        try {
+            const response = await ComplaintService.getAllComplaintsAdmin(pageParams(nextCursor));
+            setComplaints(prev => [...prev, ...response.data.items]);
+            setNextCursor(response.data.hasMore ? response.data.nextCursor : null);
+        } catch (error) {
+            toast.error("Failed to load more complaints");
+        } finally {
+            setLoadingMore(false);
+        }
+    };
+
     const handleUpdateStatus = async (id, newStatus) => {
         try {
             await ComplaintService.updateStatus(id, newStatus, "Status updated by Admin");
@@ -71,20 +102,14 @@ const AdminDashboard = () => {
         }
     };
 
-    const filteredComplaints = complaints.filter(c => {
-        const statusMatch = filterStatus === 'ALL' || c.status === filterStatus;
-        const deptMatch = filterDepartment === 'ALL' ||
-            (c.department && c.department.name === filterDepartment) ||
-            (!c.department && c.category === filterDepartment);
-        return statusMatch && deptMatch;
-    });
-
-    // Calculate Stats
+    // Stats come from the server-side counters
+    const byStatus = summary ? summary.byStatus : {};
+    const totalComplaints = summary ? summary.total : 0;
     const stats = {
-        pending: complaints.filter(c => c.status === 'PENDING').length,
-        inProgress: complaints.filter(c => c.status === 'IN_PROGRESS').length,
-        resolved: complaints.filter(c => c.status === 'COMPLETED').length,
-        rejected: complaints.filter(c => c.status === 'REJECTED').length
+        pending: byStatus.PENDING || 0,
+        inProgress: byStatus.IN_PROGRESS || 0,
+        resolved: byStatus.COMPLETED || 0,
+        rejected: byStatus.REJECTED || 0
     };
 
     const formatDate = (dateString) => {
@@ -115,7 +140,7 @@ const AdminDashboard = () => {
                                     <div
                                         className="chart-bar-fill"
                                         style={{
-                                            width: `${complaints.length > 0 ? (value / complaints.length) * 100 : 0}%`,
+                                            width: `${totalComplaints > 0 ? (value / totalComplaints) * 100 : 0}%`,
                                             background: key === 'pending' ? '#d97706' : key === 'resolved' ? '#16a34a' : key === 'rejected' ? '#dc2626' : '#2563eb'
                                         }}
                                     />
@@ -131,7 +156,7 @@ const AdminDashboard = () => {
                     <div className="resolution-circle-container">
                         <div className="resolution-content">
                             <div className="resolution-percentage">
-                                {complaints.length > 0 ? Math.round((stats.resolved / complaints.length) * 100) : 0}%
+                                {totalComplaints > 0 ? Math.round((stats.resolved / totalComplaints) * 100) : 0}%
                             </div>
                             <div className="resolution-label">Resolution Rate</div>
                         </div>
@@ -211,8 +236,8 @@ const AdminDashboard = () => {
                         </tr>
                     </thead>
                     <tbody>
-                        {filteredComplaints.length > 0 ? (
-                            filteredComplaints.map(complaint => (
+                        {complaints.length > 0 ? (
+                            complaints.map(complaint => (
                                 <tr key={complaint.id}>
                                     <td>
                                         <div style={{ fontWeight: 'bold' }}>C-{complaint.id}</div>
@@ -296,6 +321,13 @@ const AdminDashboard = () => {
                         )}
                     </tbody>
                 </table>
+                {nextCursor && (
+                    <div className="text-center" style={{ padding: '1rem' }}>
+                        <button onClick={loadMore} className="refresh-btn" disabled={loadingMore}>
+                            {loadingMore ? 'Loading...' : 'Load more'}
+                        </button>
+                    </div>
+                )}
             </div>
             {/* Modals remain the same... */}
             {selectedMapComplaint && (
@@ -2,6 +2,7 @@ import React, { useState, useEffect, useRef, useCallback } from 'react';
 import ReactDOM from 'react-dom';
 import { X, RefreshCw, Check } from 'lucide-react';
 import { toast } from 'react-toastify';
+import api from '../services/api';
 
 const SmartCamera = ({ onCapture, onClose }) => {
     // ... existing hooks ...
@@ -106,9 +107,8 @@ const SmartCamera = ({ onCapture, onClose }) => {
     // Helper functions
     const getAddressFromCoords = async (lat, lng) => {
         try {
-            const response = await fetch(`https://nominatim.openstreetmap.org/reverse?format=json&lat=${lat}&lon=${lng}`);
-            const data = await response.json();
-            return data.display_name || `${lat.toFixed(6)}, ${lng.toFixed(6)}`;
+            const response = await api.get('/geo/reverse', { params: { lat, lon: lng } });
+            return response.data.displayName || `${lat.toFixed(6)}, ${lng.toFixed(6)}`;
         } catch (error) {
             console.error("Geocoding error:", error);
             // Fallback to coordinates
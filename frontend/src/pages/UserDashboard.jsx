@@ -29,19 +29,30 @@ let DefaultIcon = L.icon({
 });
 L.Marker.prototype.options.icon = DefaultIcon;
 
+const PAGE_SIZE = 50;
+
 const UserDashboard = () => {
     const [complaints, setComplaints] = useState([]);
     const [loading, setLoading] = useState(true);
+    const [nextCursor, setNextCursor] = useState(null);
+    const [loadingMore, setLoadingMore] = useState(false);
     const [selectedMapComplaint, setSelectedMapComplaint] = useState(null);
 
     useEffect(() => {
         loadComplaints();
     }, []);
 
+    // The listing is keyset-paged newest first
+    const pageParams = (cursor) => ({
+        limit: PAGE_SIZE,
+        cursor: cursor || undefined
+    });
+
     const loadComplaints = async () => {
         try {
-            const response = await ComplaintService.getAllComplaints();
-            setComplaints(response.data);
+            const response = await ComplaintService.getAllComplaints(pageParams());
+            setComplaints(response.data.items);
+            setNextCursor(response.data.hasMore ? response.data.nextCursor : null);
         } catch (error) {
             toast.error("Failed to load complaints");
         } finally {
@@ -49,6 +60,19 @@ const UserDashboard = () => {
         }
     };
 
+    const loadMore = async () => {
+        setLoadingMore(true);
+        try {
+            const response = await ComplaintService.getAllComplaints(pageParams(nextCursor));
+            setComplaints(prev => [...prev, ...response.data.items]);
+            setNextCursor(response.data.hasMore ? response.data.nextCursor : null);
+        } catch (error) {
+            toast.error("Failed to load more complaints");
+        } finally {
+            setLoadingMore(false);
+        }
+    };
+
     const getStatusIcon = (status) => {
         switch (status) {
             case 'PENDING': return <Clock size={14} />;
@@ -162,6 +186,14 @@ const UserDashboard = () => {
                 </div>
             )}
 
+            {!loading && nextCursor && (
+                <div className="load-more-container">
+                    <button onClick={loadMore} className="btn-load-more" disabled={loadingMore}>
+                        {loadingMore ? 'Loading...' : 'Load more'}
+                    </button>
+                </div>
+            )}
+
             <style>{`
                 .delete-btn {
                     position: absolute;
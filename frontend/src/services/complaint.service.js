@@ -1,7 +1,8 @@
 import api from './api';
 
-const getAllComplaints = () => {
-    return api.get('/complaints/my');
+// Pass { limit, cursor, status, category, from, to } for a keyset-paged response
+const getAllComplaints = (params) => {
+    return api.get('/complaints/my', { params });
 };
 
 const getComplaintById = (id) => {
@@ -17,8 +18,18 @@ const createComplaint = (formData) => {
 };
 
 // Admin endpoints
-const getAllComplaintsAdmin = () => {
-    return api.get('/admin/complaints');
+const getAllComplaintsAdmin = (params) => {
+    return api.get('/admin/complaints', { params });
+};
+
+// Status and category totals for the admin's scope
+const getComplaintSummaryAdmin = () => {
+    return api.get('/admin/complaints/summary');
+};
+
+// Ranked text search; params: q, category, status, page, size
+const searchComplaintsAdmin = (params) => {
+    return api.get('/admin/complaints/search', { params });
 };
 
 const updateStatus = (id, status, remarks) => {
@@ -30,6 +41,11 @@ const updateStatus = (id, status, remarks) => {
     });
 };
 
+// Applies one status and remarks to every id in a single request
+const bulkUpdateStatus = (ids, status, remarks) => {
+    return api.put('/admin/complaints/status', { ids, status, remarks });
+};
+
 const deleteComplaint = (id) => {
     return api.delete(`/complaints/${id}`);
 };
@@ -39,7 +55,10 @@ const ComplaintService = {
     getComplaintById,
     createComplaint,
     getAllComplaintsAdmin,
+    getComplaintSummaryAdmin,
+    searchComplaintsAdmin,
     updateStatus,
+    bulkUpdateStatus,
     deleteComplaint
 };
 
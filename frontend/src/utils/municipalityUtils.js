@@ -1,4 +1,4 @@
-import axios from 'axios';
+import api from '../services/api';
 
 // Mocks database IDs based on the requirement
 const MUNICIPALITIES = [
@@ -9,15 +9,13 @@ const MUNICIPALITIES = [
 
 export const determineMunicipality = async (latitude, longitude) => {
     try {
-        // Reverse Geocoding via Nominatim
-        const response = await axios.get(`https://nominatim.openstreetmap.org/reverse?format=json&lat=${latitude}&lon=${longitude}`);
-        const address = response.data.address;
+        // Reverse Geocoding via the backend's offline gazetteer
+        const response = await api.get('/geo/reverse', { params: { lat: latitude, lon: longitude } });
 
         let detectedCity = 'Unknown';
 
         // Check address fields for city names
-        // Nominatim returns different fields depending on location (city, town, village, county, state_district)
-        const possibleFields = [address.city, address.town, address.village, address.county, address.state_district];
+        const possibleFields = [response.data.city, response.data.district];
 
         // Simple string matching
         for (const field of possibleFields) {
@@ -28,7 +26,7 @@ export const determineMunicipality = async (latitude, longitude) => {
             }
         }
 
-        // If Nominatim fails or returns outside known areas, fall back to distance
+        // If the lookup fails or returns outside known areas, fall back to distance
         if (detectedCity === 'Unknown') {
             detectedCity = getNearestCity(latitude, longitude);
         }
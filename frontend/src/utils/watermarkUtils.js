@@ -1,10 +1,10 @@
-import axios from 'axios';
+import api from '../services/api';
 
-// Get address from coordinates using OpenStreetMap Nominatim API
+// Get address from coordinates using the backend's offline reverse geocoder
 export const getAddressFromCoords = async (latitude, longitude) => {
     try {
-        const response = await axios.get(`https://nominatim.openstreetmap.org/reverse?format=json&lat=${latitude}&lon=${longitude}`);
-        return response.data.display_name;
+        const response = await api.get('/geo/reverse', { params: { lat: latitude, lon: longitude } });
+        return response.data.displayName;
     } catch (error) {
         console.error("Error fetching address:", error);
         return "Address not available";